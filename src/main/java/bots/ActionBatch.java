@@ -0,0 +1,236 @@
+package bots;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import utils.EnvFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ActionBatch: queues interactions and runs them in one async script, so a
+ * whole form or a row of clicks costs one round trip. Each step waits for
+ * its element, scrolls only if it is off screen and fires the same DOM
+ * events as the user action (input/change for fields, pointer/mouse/click
+ * for buttons), and field values are read back. Whatever the script could
+ * not finish is replayed through the regular ActionsBot methods, which is
+ * also how fields are typed when real keystrokes are switched on.
+ */
+public class ActionBatch {
+
+    private static final Logger log = LogManager.getLogger(ActionBatch.class);
+    private static final long STEP_TIMEOUT_MILLIS = 5000;
+    // keeps the whole script inside the driver's default 30 s script timeout
+    private static final long BATCH_TIMEOUT_MILLIS = 20000;
+
+    private static final String BATCH_SCRIPT = JsLocator.FUNCTIONS + """
+            const steps = arguments[0], batchId = arguments[1], stepTimeout = arguments[2], budget = arguments[3];
+            const done = arguments[arguments.length - 1];
+            const started = Date.now();
+            // progress survives a same-origin navigation, so a failed call can tell what already ran
+            const progress = n => { try { sessionStorage.setItem(batchId, String(n)); } catch (e) { } };
+            const tick = () => new Promise(r => setTimeout(r, 0));
+            const ready = el => __visible(el) && !el.disabled;
+            const waitFor = async loc => {
+              const deadline = Math.min(Date.now() + stepTimeout, started + budget);
+              while (true) {
+                const el = __find(loc)[0];
+                if (el && ready(el)) return el;
+                if (Date.now() > deadline) return null;
+                await new Promise(r => setTimeout(r, 25));
+              }
+            };
+            const setValue = (el, value) => {
+              // React tracks the last value; the prototype setter makes it see the change
+              const proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                  : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;
+              Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);
+              el.dispatchEvent(new Event('input', {bubbles: true}));
+              el.dispatchEvent(new Event('change', {bubbles: true}));
+            };
+            const press = el => {
+              const opts = {bubbles: true, cancelable: true, view: window};
+              el.dispatchEvent(new PointerEvent('pointerdown', opts));
+              el.dispatchEvent(new MouseEvent('mousedown', opts));
+              el.focus();
+              el.dispatchEvent(new PointerEvent('pointerup', opts));
+              el.dispatchEvent(new MouseEvent('mouseup', opts));
+              el.click();
+            };
+            (async () => {
+              for (let i = 0; i < steps.length; i++) {
+                const step = steps[i];
+                const el = await waitFor(step.loc);
+                if (!el) return {done: i, error: 'not ready: ' + step.loc.using + '=' + step.loc.value};
+                const r = el.getBoundingClientRect();
+                if (r.top < 0 || r.left < 0 || r.bottom > innerHeight || r.right > innerWidth) {
+                  el.scrollIntoView({block: 'center'});
+                }
+                if (step.op === 'click') {
+                  progress(i + 1);
+                  press(el);
+                } else {
+                  el.focus();
+                  setValue(el, step.value);
+                  el.blur();
+                  // read back after the app re-rendered: a field that rejected the value is retyped with real keystrokes
+                  await tick();
+                  if (el.value !== step.value) {
+                    return {done: i, error: 'value not accepted by ' + step.loc.using + '=' + step.loc.value};
+                  }
+                  progress(i + 1);
+                }
+                // let the app re-render before the next step looks for its element
+                await tick();
+              }
+              return {done: steps.length};
+            })().then(r => r, e => ({done: Number(sessionStorage.getItem(batchId)) || 0, error: String(e)}))
+              .then(r => { try { sessionStorage.removeItem(batchId); } catch (e) { } done(r); });
+            """;
+
+    private record Step(String op, By locator, String value) { }
+
+    // per-test override of the realKeystrokes setting
+    private static final ThreadLocal<Boolean> keystrokes = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private final ActionsBot actionsbot;
+    private final List<Step> steps = new ArrayList<>();
+
+    ActionBatch(WebDriver driver, ActionsBot actionsbot) {
+        this.driver = driver;
+        this.actionsbot = actionsbot;
+    }
+
+    public ActionBatch type(By locator, String text) {
+        steps.add(new Step("type", locator, text));
+        return this;
+    }
+
+    //Set several fields at once, in map order (use a LinkedHashMap)
+    public ActionBatch fill(Map<By, String> values) {
+        values.forEach(this::type);
+        return this;
+    }
+
+    public ActionBatch clear(By locator) {
+        steps.add(new Step("clear", locator, ""));
+        return this;
+    }
+
+    public ActionBatch selectByValue(By locator, String value) {
+        steps.add(new Step("select", locator, value));
+        return this;
+    }
+
+    public ActionBatch click(By locator) {
+        steps.add(new Step("click", locator, null));
+        return this;
+    }
+
+    //Tests that depend on key events switch to clear() + sendKeys() typing for their thread
+    public static void typeWithKeystrokes(boolean enabled) {
+        keystrokes.set(enabled);
+    }
+
+    public static void resetTyping() {
+        keystrokes.remove();
+    }
+
+    //Run all queued steps; steps the script could not finish run one by one
+    public void run() {
+        int completed = 0;
+        if (canRunInPage() && !(usesKeystrokes() && hasFieldSteps())) {
+            completed = runInPage();
+        }
+        ElementCache.of(driver).invalidateAll();
+        if (completed < steps.size()) {
+            for (Step step : steps.subList(completed, steps.size())) {
+                runSingle(step);
+            }
+        }
+    }
+
+    //HELPERS
+
+    private static boolean usesKeystrokes() {
+        Boolean override = keystrokes.get();
+        return override != null ? override : EnvFactory.isRealKeystrokes();
+    }
+
+    private boolean hasFieldSteps() {
+        return steps.stream().anyMatch(s -> !s.op().equals("click"));
+    }
+
+    private boolean canRunInPage() {
+        return driver instanceof JavascriptExecutor
+                && steps.stream().allMatch(s -> JsLocator.isSupported(s.locator()));
+    }
+
+    // number of steps completed in the page
+    private int runInPage() {
+        String batchId = "swag-batch-" + UUID.randomUUID();
+        List<Map<String, Object>> payload = new ArrayList<>();
+        for (Step step : steps) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("op", step.op());
+            item.put("loc", JsLocator.describe(step.locator()));
+            item.put("value", step.value());
+            payload.add(item);
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        try {
+            Map<?, ?> result = (Map<?, ?>) js.executeAsyncScript(
+                    BATCH_SCRIPT, payload, batchId, stepTimeout(), budget());
+            int completed = ((Number) result.get("done")).intValue();
+            if (result.get("error") != null) {
+                log.warn("Batch stopped after {} of {} steps ({}), continuing step by step",
+                        completed, steps.size(), result.get("error"));
+            }
+            return completed;
+        } catch (WebDriverException e) {
+            // the call itself failed (e.g. a click navigated away); ask the page how far it got
+            int completed = takeProgress(js, batchId);
+            log.warn("Batch script failed after {} of {} steps, continuing step by step: {}",
+                    completed, steps.size(), e.getMessage());
+            return completed;
+        }
+    }
+
+    // on a shared session a step that is not ready at once is left to the step-by-step replay,
+    // whose waits hold the session one short slice at a time
+    private static long stepTimeout() {
+        return Math.min(STEP_TIMEOUT_MILLIS, DomWaiter.sliceMillis());
+    }
+
+    private long budget() {
+        return Math.min(BATCH_TIMEOUT_MILLIS, stepTimeout() * steps.size());
+    }
+
+    private int takeProgress(JavascriptExecutor js, String batchId) {
+        try {
+            Object stored = js.executeScript(
+                    "const v = sessionStorage.getItem(arguments[0]); sessionStorage.removeItem(arguments[0]); return v;",
+                    batchId);
+            return stored == null ? 0 : Integer.parseInt(stored.toString());
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private void runSingle(Step step) {
+        switch (step.op()) {
+            case "type" -> actionsbot.type(step.locator(), step.value());
+            case "clear" -> actionsbot.clear(step.locator());
+            case "select" -> actionsbot.selectByValue(step.locator(), step.value());
+            default -> actionsbot.click(step.locator());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package bots;
+
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * ActionFailedException: an ActionsBot interaction hit an error that
+ * retrying cannot fix. Names the action and target; the original error is
+ * the cause.
+ */
+public class ActionFailedException extends WebDriverException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ActionFailedException(String action, Object target, Throwable cause) {
+        super(String.format("%s on %s failed (%s): %s", action, target,
+                ExceptionClassifier.classify(cause).name().toLowerCase(), cause.getMessage()), cause);
+    }
+}
@@ -1,57 +1,83 @@
 package bots;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.interactions.Actions;
 import java.util.List;
+import java.util.Map;
 
 /**
- * ActionsBot: safe interactions - uses Waitsbot, scrolls before actions,
- * supports WebElement and By overloads and JS fallback for clicks.
+ * ActionsBot: safe interactions - uses Waitsbot, supports WebElement and By
+ * overloads and JS fallback for clicks. No separate scroll commands: native
+ * click/sendKeys scroll the element into view themselves, reads need no
+ * scrolling, and the JS click scrolls only if the element is off screen.
+ * Elements found by a wait are reused from the ElementCache; every
+ * mutating action starts a new cache epoch.
  */
 public class ActionsBot {
 
     private final WebDriver driver;
     private final Waitsbot waitsbot;
+    private final ElementCache elementCache;
 
     public ActionsBot(WebDriver driver) {
         this.driver = driver;
-        this.waitsbot = new Waitsbot(driver);
+        this.waitsbot = DriverRegistry.of(driver).waits();
+        this.elementCache = ElementCache.of(driver);
+    }
+
+    //Batch: queue several interactions and run them in one script round trip
+    public ActionBatch batch() {
+        return new ActionBatch(driver, this);
+    }
+
+    //Form fill: all fields set natively in one script, read back, then retyped if rejected
+    public void fillForm(Map<By, String> values) {
+        batch().fill(values).run();
     }
 
     //Click
     public void click(By locator) {
-        waitsbot.waitForPresence(locator);
+        // not CLICKABLE: a permanent overlay (e.g. a transparent layer) would hold it for the full timeout;
+        // the native click reports the overlay at once and the JS click goes through it
+        waitsbot.waitForVisibility(locator);
         waitsbot.fluentwait().until(d -> {
             try {
-                WebElement el = d.findElement(locator);
-                scrollTo(el);
+                WebElement el = elementCache.find(d, locator);
                 try {
+                    long start = System.nanoTime();
                     el.click();
-                } catch (WebDriverException e) {
+                    ScrollStats.skipped(start);
+                } catch (ElementClickInterceptedException e) {
                     jsClick(el);
                 }
                 return true;
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                elementCache.evict(locator, e);
+                failFast(e, "click", locator);
                 return false;
             }
         });
+        elementCache.invalidateAll();
     }
 
     // Click using a WebElement instance
     public void click(WebElement element) {
         waitsbot.fluentwait().until(d -> {
             try {
-                scrollTo(element);
                 try {
+                    long start = System.nanoTime();
                     element.click();
+                    ScrollStats.skipped(start);
                 } catch (WebDriverException e) {
+                    failFast(e, "click", element);
                     jsClick(element);
                 }
                 return true;
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                failFast(e, "click", element);
                 return false;
             }
         });
+        elementCache.invalidateAll();
     }
 
     //Type
@@ -59,15 +85,19 @@ public class ActionsBot {
         waitsbot.waitForVisibility(locator);
         waitsbot.fluentwait().until(d -> {
             try {
-                WebElement element = d.findElement(locator);
-                scrollTo(element);
+                WebElement element = elementCache.find(d, locator);
                 element.clear();
+                long start = System.nanoTime();
                 element.sendKeys(text);
+                ScrollStats.skipped(start);
                 return true;
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                elementCache.evict(locator, e);
+                failFast(e, "type", locator);
                 return false;
             }
         });
+        elementCache.invalidateAll();
     }
 
     //Get text
@@ -75,20 +105,22 @@ public class ActionsBot {
         tries:
         return waitsbot.fluentwait().until(d -> {
             try {
-                WebElement element = d.findElement(locator);
-                scrollTo(element);
+                WebElement element = elementCache.find(d, locator);
+                long start = System.nanoTime();
                 String txt = element.getText();
+                ScrollStats.skipped(start);
                 return (txt != null && !txt.isEmpty()) ? txt : null;
             } catch (Exception e) {
+                elementCache.evict(locator, e);
+                failFast(e, "getText", locator);
                 return null;
             }
         });
     }
 
-    //Find elements after waiting for presence
+    //Find elements: the wait itself returns them
     public List<WebElement> finds(By locator) {
-        waitsbot.waitForPresence(locator);
-        return driver.findElements(locator);
+        return waitsbot.waitForAll(locator);
     }
 
     //Clear
@@ -96,14 +128,18 @@ public class ActionsBot {
         waitsbot.waitForVisibility(locator);
         waitsbot.fluentwait().until(d -> {
             try {
-                WebElement el = d.findElement(locator);
-                scrollTo(el);
+                WebElement el = elementCache.find(d, locator);
+                long start = System.nanoTime();
                 el.clear();
+                ScrollStats.skipped(start);
                 return true;
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                elementCache.evict(locator, e);
+                failFast(e, "clear", locator);
                 return false;
             }
         });
+        elementCache.invalidateAll();
     }
 
     //Select by value
@@ -111,14 +147,17 @@ public class ActionsBot {
         waitsbot.waitForVisibility(locator);
         waitsbot.fluentwait().until(d -> {
             try {
-                WebElement el = d.findElement(locator);
-                scrollTo(el);
+                WebElement el = elementCache.find(d, locator);
                 new org.openqa.selenium.support.ui.Select(el).selectByValue(value);
+                ScrollStats.skipped();
                 return true;
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                elementCache.evict(locator, e);
+                failFast(e, "selectByValue", locator);
                 return false;
             }
         });
+        elementCache.invalidateAll();
     }
 
     //get Attribute
@@ -126,29 +165,43 @@ public class ActionsBot {
         waitsbot.waitForPresence(locator);
         return waitsbot.fluentwait().until(d -> {
             try {
-                WebElement el = d.findElement(locator);
-                scrollTo(el);
-                return el.getAttribute(attribute);
+                WebElement el = elementCache.find(d, locator);
+                long start = System.nanoTime();
+                String value = el.getAttribute(attribute);
+                ScrollStats.skipped(start);
+                return value;
             } catch (Exception e) {
+                elementCache.evict(locator, e);
+                failFast(e, "getAttribute", locator);
                 return null;
             }
         });
     }
 
-    //Scroll to
-    private void scrollTo(WebElement element) {
-        try {
-            new Actions(driver).scrollToElement(element).perform();
-        } catch (Exception ignored) {
-            // fallback: JS scrollIntoView
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+    //Errors that waiting cannot fix end the retry loop at once, with context
+    private void failFast(Exception e, String action, Object target) {
+        if (e instanceof ActionFailedException failed) {
+            throw failed;
+        }
+        if (ExceptionClassifier.isTerminal(e)) {
+            throw new ActionFailedException(action, target, e);
         }
     }
 
-    //JS click
+    //JS click, scrolling first only when the element is outside the viewport
     private void jsClick(WebElement el) {
         try {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el);
+            Object scrolled = ((JavascriptExecutor) driver).executeScript("""
+                    const el = arguments[0], r = el.getBoundingClientRect();
+                    const inView = r.top >= 0 && r.left >= 0 && r.bottom <= innerHeight && r.right <= innerWidth;
+                    if (!inView) el.scrollIntoView({block: 'center'});
+                    el.click();
+                    return !inView;""", el);
+            if (Boolean.TRUE.equals(scrolled)) {
+                ScrollStats.scrolledInPage();
+            } else {
+                ScrollStats.skipped();
+            }
         } catch (Exception ignored) { }
     }
 }
@@ -0,0 +1,139 @@
+package bots;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * AsyncWaits: waits as CompletableFutures, each polled on its own virtual
+ * thread, so several outcomes can be awaited at once. anyOf() completes
+ * with the key of the first branch to succeed and cancels the rest; allOf()
+ * fails fast and cancels the rest. The driver must not be ThreadGuard
+ * protected, since polls run off the test thread.
+ */
+public class AsyncWaits {
+
+    private static final ExecutorService VIRTUAL = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+    private static final long FIRST_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 250;
+
+    // element for present/visible, true for gone, null while unmet
+    private static final String CHECK_SCRIPT = JsLocator.FUNCTIONS + """
+            const found = __find(arguments[0]);
+            if (arguments[1] === 'PRESENT') return found.length > 0 ? found[0] : null;
+            if (arguments[1] === 'VISIBLE') return found.length > 0 && __visible(found[0]) ? found[0] : null;
+            return found.length === 0 ? true : null;
+            """;
+
+    private final WebDriver driver;
+
+    public AsyncWaits(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public CompletableFuture<WebElement> present(By locator) {
+        return poll(() -> (WebElement) check(locator, DomWaiter.Condition.PRESENT), "presence of " + locator);
+    }
+
+    public CompletableFuture<WebElement> visible(By locator) {
+        return poll(() -> (WebElement) check(locator, DomWaiter.Condition.VISIBLE), "visibility of " + locator);
+    }
+
+    public CompletableFuture<Boolean> gone(By locator) {
+        return poll(() -> (Boolean) check(locator, DomWaiter.Condition.GONE), "disappearance of " + locator);
+    }
+
+    public CompletableFuture<String> urlIs(String url) {
+        return poll(() -> url.equals(driver.getCurrentUrl()) ? url : null, "URL " + url);
+    }
+
+    //Key of the first branch to succeed; losing branches are cancelled. Fails only if every branch fails
+    public static <K> CompletableFuture<K> anyOf(Map<K, ? extends CompletableFuture<?>> branches) {
+        CompletableFuture<K> winner = new CompletableFuture<>();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        branches.forEach((key, branch) -> branch.whenComplete((value, error) -> {
+            if (error == null) {
+                winner.complete(key);
+            } else if (failures.add(error) && failures.size() == branches.size()) {
+                winner.completeExceptionally(failures.peek());
+            }
+        }));
+        winner.whenComplete((key, error) -> branches.values().forEach(b -> b.cancel(true)));
+        return winner;
+    }
+
+    //Completes when every branch has; the first failure cancels the others
+    public static CompletableFuture<Void> allOf(List<? extends CompletableFuture<?>> branches) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(branches.toArray(CompletableFuture[]::new));
+        branches.forEach(branch -> branch.whenComplete((value, error) -> {
+            if (error != null) {
+                all.completeExceptionally(error);
+            }
+        }));
+        all.whenComplete((value, error) -> {
+            if (error != null) {
+                branches.forEach(b -> b.cancel(true));
+            }
+        });
+        return all;
+    }
+
+    //HELPERS
+
+    // virtual thread polls with backoff until met, timed out or cancelled
+    private <T> CompletableFuture<T> poll(Supplier<T> condition, String description) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        VIRTUAL.execute(() -> {
+            long deadline = System.currentTimeMillis() + TIMEOUT.toMillis();
+            long interval = FIRST_POLL_MILLIS;
+            while (!result.isDone()) {
+                try {
+                    T value = condition.get();
+                    if (value != null) {
+                        result.complete(value);
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    // stale or mid-navigation is retried; a lost session or bad locator is not
+                    if (ExceptionClassifier.isTerminal(e)) {
+                        result.completeExceptionally(e);
+                        return;
+                    }
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    result.completeExceptionally(new TimeoutException(
+                            "Expected condition failed: waiting for " + description + " (tried for " + TIMEOUT.getSeconds() + " second(s))"));
+                    return;
+                }
+                // sleeps on the result itself, so a cancelled branch stops at once without interrupting a command in flight
+                try {
+                    result.get(Math.min(interval, remaining), TimeUnit.MILLISECONDS);
+                } catch (java.util.concurrent.TimeoutException e) {
+                    interval = Math.min(interval * 2, MAX_POLL_MILLIS);
+                } catch (InterruptedException | ExecutionException | CancellationException e) {
+                    return;
+                }
+            }
+        });
+        return result;
+    }
+
+    private Object check(By locator, DomWaiter.Condition condition) {
+        if (driver instanceof JavascriptExecutor js && JsLocator.isSupported(locator)) {
+            return js.executeScript(CHECK_SCRIPT, JsLocator.describe(locator), condition.name());
+        }
+        List<WebElement> found = driver.findElements(locator);
+        return switch (condition) {
+            case PRESENT -> found.isEmpty() ? null : found.get(0);
+            case VISIBLE -> !found.isEmpty() && found.get(0).isDisplayed() ? found.get(0) : null;
+            default -> found.isEmpty() ? Boolean.TRUE : null;
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package bots;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * BulkExtractor: reads a list of rows in one script call instead of
+ * findElements + getText per element. Each row is a container match; each
+ * field is the text or attribute of the first match of its locator inside
+ * the container (or the container itself). Rows are returned as records
+ * whose component names match the field names. Nothing is waited for: the
+ * rows present at the call are read, so callers wait for the list first
+ * (page anchors, or Waitsbot) where it renders late.
+ */
+public class BulkExtractor {
+
+    private static final String EXTRACT_SCRIPT = JsLocator.FUNCTIONS + """
+            const container = arguments[0], fields = arguments[1];
+            const read = (el, attribute) => {
+              if (!attribute) return el.innerText.trim();
+              // like WebElement.getAttribute: property first, then attribute
+              const prop = el[attribute];
+              if (prop != null && typeof prop !== 'object' && typeof prop !== 'function') return String(prop);
+              return el.getAttribute(attribute);
+            };
+            return __find(container).map(row => fields.map(f => {
+              const el = f.loc ? __find(f.loc, row)[0] : row;
+              return el ? read(el, f.attribute) : null;
+            }));
+            """;
+
+    //One column: text (attribute == null) or attribute of locator inside the row, or of the row itself
+    public record Field(String name, By locator, String attribute) {
+
+        public static Field text(String name) {
+            return new Field(name, null, null);
+        }
+
+        public static Field text(String name, By locator) {
+            return new Field(name, locator, null);
+        }
+
+        public static Field attribute(String name, By locator, String attribute) {
+            return new Field(name, locator, attribute);
+        }
+    }
+
+    private final WebDriver driver;
+
+    public BulkExtractor(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    //Text of every element matching the locator
+    public List<String> texts(By locator) {
+        return rawRows(locator, List.of(Field.text("text"))).stream()
+                .map(row -> row.get(0))
+                .toList();
+    }
+
+    //Every container match as a record built from the fields
+    public <R extends Record> List<R> rows(By container, Class<R> rowType, Field... fields) {
+        List<Field> spec = List.of(fields);
+        Constructor<R> constructor = canonicalConstructor(rowType);
+        RecordComponent[] components = rowType.getRecordComponents();
+        int[] columns = new int[components.length];
+        for (int i = 0; i < components.length; i++) {
+            columns[i] = indexOf(spec, components[i].getName(), rowType);
+        }
+        List<R> rows = new ArrayList<>();
+        for (List<String> raw : rawRows(container, spec)) {
+            Object[] args = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                args[i] = convert(raw.get(columns[i]), components[i].getType(), spec.get(columns[i]).attribute() != null);
+            }
+            try {
+                rows.add(constructor.newInstance(args));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot build " + rowType.getSimpleName() + " from " + raw, e);
+            }
+        }
+        return rows;
+    }
+
+    //HELPERS
+
+    private List<List<String>> rawRows(By container, List<Field> fields) {
+        // no rows is an answer (e.g. an empty cart), not a reason to look again element by element
+        return canExtractInPage(container, fields)
+                ? extractInPage(container, fields)
+                : extractPerElement(container, fields);
+    }
+
+    private boolean canExtractInPage(By container, List<Field> fields) {
+        return driver instanceof JavascriptExecutor
+                && JsLocator.isSupported(container)
+                && fields.stream().allMatch(f -> f.locator() == null || JsLocator.isSupported(f.locator()));
+    }
+
+    private List<List<String>> extractInPage(By container, List<Field> fields) {
+        List<Map<String, Object>> spec = new ArrayList<>();
+        for (Field field : fields) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("loc", field.locator() == null ? null : JsLocator.describe(field.locator()));
+            item.put("attribute", field.attribute());
+            spec.add(item);
+        }
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(
+                EXTRACT_SCRIPT, JsLocator.describe(container), spec);
+        List<List<String>> rows = new ArrayList<>();
+        for (Object row : result) {
+            List<String> values = new ArrayList<>();
+            for (Object value : (List<?>) row) {
+                values.add(value == null ? null : value.toString());
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    private List<List<String>> extractPerElement(By container, List<Field> fields) {
+        List<List<String>> rows = new ArrayList<>();
+        for (WebElement row : driver.findElements(container)) {
+            List<String> values = new ArrayList<>();
+            for (Field field : fields) {
+                values.add(read(row, field));
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    private String read(WebElement row, Field field) {
+        try {
+            WebElement el = field.locator() == null ? row : row.findElement(field.locator());
+            return field.attribute() == null ? el.getText().trim() : el.getAttribute(field.attribute());
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private static <R extends Record> Constructor<R> canonicalConstructor(Class<R> rowType) {
+        Class<?>[] types = Arrays.stream(rowType.getRecordComponents())
+                .map(RecordComponent::getType)
+                .toArray(Class<?>[]::new);
+        try {
+            Constructor<R> constructor = rowType.getDeclaredConstructor(types);
+            // page objects keep their row records private
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No canonical constructor on " + rowType.getName(), e);
+        }
+    }
+
+    private static int indexOf(List<Field> fields, String name, Class<?> rowType) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No field named '" + name + "' for " + rowType.getSimpleName());
+    }
+
+    // prices etc. are read as text; strip currency and separators for numeric components.
+    // A boolean text field means the element is there; a boolean attribute (disabled, checked,
+    // aria-expanded) is its value, which both paths report as "true"/"false" or null when absent
+    static Object convert(String value, Class<?> type, boolean attribute) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return attribute ? Boolean.parseBoolean(value) : value != null;
+        }
+        if (value == null) {
+            if (type.isPrimitive()) {
+                throw new IllegalArgumentException("Missing value for primitive " + type.getSimpleName());
+            }
+            return null;
+        }
+        String number = value.replaceAll("[^0-9.\\-]", "");
+        if (type == int.class || type == Integer.class) {
+            return Integer.parseInt(number);
+        }
+        if (type == long.class || type == Long.class) {
+            return Long.parseLong(number);
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.parseDouble(number);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(number);
+        }
+        throw new IllegalArgumentException("Unsupported record component type " + type.getName());
+    }
+}
@@ -0,0 +1,210 @@
+package bots;
+
+import org.openqa.selenium.*;
+import utils.EnvFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DomWaiter: resolves element waits inside the page. One async script
+ * installs a MutationObserver and returns as soon as the condition holds,
+ * so a wait costs one round trip and no poll interval. Scripts run in
+ * bounded slices so a shared session is never blocked for long; browsers or
+ * locators that cannot run it fall back to driver-side polling with backoff.
+ * A selector the page rejects fails at once with InvalidSelectorException.
+ */
+public class DomWaiter {
+
+    // ALL: every match once at least one is present; CLICKABLE: visible, enabled and not covered
+    public enum Condition { PRESENT, VISIBLE, CLICKABLE, ALL, GONE }
+
+    // Upper bound for one in-page wait; keep well below the driver's script timeout
+    private static final long SLICE_MILLIS = 2000;
+    // Context isolation shares one session, which runs one command at a time for every test on it
+    private static final long SHARED_SLICE_MILLIS = 250;
+    private static final int MAX_SCRIPT_FAILURES = 3;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final Duration DEFAULT_FIRST_POLL = Duration.ofMillis(200);
+
+    private static final String WAIT_SCRIPT = JsLocator.FUNCTIONS + """
+            const loc = arguments[0], condition = arguments[1], sliceMs = arguments[2];
+            const done = arguments[arguments.length - 1];
+            // the matched element(s), true for GONE, null while unmet; compound checks share one pass
+            const met = () => {
+              const found = __find(loc);
+              if (condition === 'PRESENT') return found.length > 0 ? found[0] : null;
+              if (condition === 'VISIBLE') return found.length > 0 && __visible(found[0]) ? found[0] : null;
+              if (condition === 'CLICKABLE') return found.length > 0 && __clickable(found[0]) ? found[0] : null;
+              if (condition === 'ALL') return found.length > 0 ? found : null;
+              return found.length === 0 ? true : null;
+            };
+            let first;
+            try {
+              first = met();
+            } catch (e) {
+              // a malformed selector fails the same way on every mutation
+              if (e.name === 'SyntaxError') { done({invalidSelector: String(e.message)}); return; }
+              throw e;
+            }
+            if (first) { done(first); return; }
+            let finished = false, observer, timer, limit;
+            const finish = result => {
+              if (finished) return;
+              finished = true;
+              observer.disconnect(); clearInterval(timer); clearTimeout(limit);
+              done(result);
+            };
+            const check = () => { const hit = met(); if (hit) finish(hit); };
+            observer = new MutationObserver(check);
+            observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            // layout-only changes (transitions, stylesheets loading) raise no mutations
+            timer = setInterval(check, 100);
+            limit = setTimeout(() => finish(null), sliceMs);
+            """;
+
+    // Per session, the locators whose in-page wait failed repeatedly; those poll from then on
+    private static final Map<WebDriver, Set<String>> pollingOnly = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+
+    public DomWaiter(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    //True once the condition holds, false if the timeout passes first
+    public boolean await(By locator, Condition condition, Duration timeout) {
+        return await(locator, condition, timeout, DEFAULT_FIRST_POLL);
+    }
+
+    //firstPoll: initial interval when polling is needed; it doubles up to 500 ms
+    public boolean await(By locator, Condition condition, Duration timeout, Duration firstPoll) {
+        return resolve(locator, condition, timeout, firstPoll) != null;
+    }
+
+    //The first match once it is present/visible/clickable, so callers skip a second lookup; null on timeout
+    public WebElement find(By locator, Condition condition, Duration timeout, Duration firstPoll) {
+        if (condition == Condition.GONE || condition == Condition.ALL) {
+            throw new IllegalArgumentException(condition + " does not resolve to a single element");
+        }
+        return (WebElement) resolve(locator, condition, timeout, firstPoll);
+    }
+
+    //All matches once at least one is present; null on timeout
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findAll(By locator, Duration timeout, Duration firstPoll) {
+        return (List<WebElement>) resolve(locator, Condition.ALL, timeout, firstPoll);
+    }
+
+    //HELPERS
+
+    // element or TRUE once met, null on timeout
+    private Object resolve(By locator, Condition condition, Duration timeout, Duration firstPoll) {
+        if (!canWaitInPage(locator)) {
+            return poll(locator, condition, timeout, firstPoll);
+        }
+        Object loc = JsLocator.describe(locator);
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        int failures = 0;
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return check(locator, condition);
+            }
+            try {
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                        WAIT_SCRIPT, loc, condition.name(), Math.min(sliceMillis(), remaining));
+                if (result instanceof WebElement || result instanceof List || Boolean.TRUE.equals(result)) {
+                    return result;
+                }
+                if (result instanceof Map<?, ?> rejected && rejected.containsKey("invalidSelector")) {
+                    throw new InvalidSelectorException("Invalid selector " + locator + ": " + rejected.get("invalidSelector"));
+                }
+                failures = 0;
+            } catch (ScriptTimeoutException e) {
+                failures = 0;
+            } catch (WebDriverException e) {
+                if (e instanceof InvalidSelectorException
+                        || ExceptionClassifier.classify(e) == ExceptionClassifier.Kind.SESSION) {
+                    throw e;
+                }
+                if (ExceptionClassifier.isInPageSelectorError(e)) {
+                    throw new InvalidSelectorException("Invalid selector " + locator + ": " + e.getMessage(), e);
+                }
+                // navigation replaced the document mid-script, or the browser can't run it for this locator
+                if (++failures >= MAX_SCRIPT_FAILURES) {
+                    pollingOnly.computeIfAbsent(driver, d -> ConcurrentHashMap.newKeySet()).add(locator.toString());
+                    return poll(locator, condition,
+                            Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis())), firstPoll);
+                }
+                Object met = check(locator, condition);
+                if (met != null) {
+                    return met;
+                }
+            }
+        }
+    }
+
+    //Longest one in-page wait may hold the session
+    static long sliceMillis() {
+        return "context".equalsIgnoreCase(EnvFactory.getIsolation()) ? SHARED_SLICE_MILLIS : SLICE_MILLIS;
+    }
+
+    private boolean canWaitInPage(By locator) {
+        return driver instanceof JavascriptExecutor
+                && JsLocator.isSupported(locator)
+                && !pollingOnly.getOrDefault(driver, Set.of()).contains(locator.toString());
+    }
+
+    // fast first polls catch quick elements, backing off keeps slow ones from flooding the driver
+    private Object poll(By locator, Condition condition, Duration timeout, Duration firstPoll) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        long interval = Math.max(1, firstPoll.toMillis());
+        while (true) {
+            Object met = check(locator, condition);
+            if (met != null) {
+                return met;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for " + locator, e);
+            }
+            interval = Math.min(interval * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    private Object check(By locator, Condition condition) {
+        List<WebElement> found = driver.findElements(locator);
+        return switch (condition) {
+            case PRESENT -> found.isEmpty() ? null : found.get(0);
+            case VISIBLE -> {
+                try {
+                    yield !found.isEmpty() && found.get(0).isDisplayed() ? found.get(0) : null;
+                } catch (StaleElementReferenceException e) {
+                    yield null;
+                }
+            }
+            // without scripts coverage can't be checked; the click's own retry handles overlays
+            case CLICKABLE -> {
+                try {
+                    yield !found.isEmpty() && found.get(0).isDisplayed() && found.get(0).isEnabled() ? found.get(0) : null;
+                } catch (StaleElementReferenceException e) {
+                    yield null;
+                }
+            }
+            case ALL -> found.isEmpty() ? null : found;
+            case GONE -> found.isEmpty() ? Boolean.TRUE : null;
+        };
+    }
+}
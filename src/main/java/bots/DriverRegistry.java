@@ -0,0 +1,70 @@
+package bots;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * DriverRegistry: one set of bots, waits, page objects and caches per
+ * driver, created on first use and shared from then on, so navigating or
+ * building a component does not allocate a new set each time. Entries are
+ * strong references to the driver and are never dropped on their own:
+ * release() is required when the session ends, or the driver and all its
+ * objects stay reachable.
+ */
+public class DriverRegistry {
+
+    private static final Map<WebDriver, DriverRegistry> registries = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
+
+    private DriverRegistry(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static DriverRegistry of(WebDriver driver) {
+        return registries.computeIfAbsent(driver, DriverRegistry::new);
+    }
+
+    //Drop everything kept for the driver; call before it quits
+    public static void release(WebDriver driver) {
+        registries.remove(driver);
+    }
+
+    public ActionsBot actions() {
+        return get(ActionsBot.class, ActionsBot::new);
+    }
+
+    public Waitsbot waits() {
+        return get(Waitsbot.class, Waitsbot::new);
+    }
+
+    public BulkExtractor extractor() {
+        return get(BulkExtractor.class, BulkExtractor::new);
+    }
+
+    public ReadinessDetector readiness() {
+        return get(ReadinessDetector.class, ReadinessDetector::new);
+    }
+
+    //Shared instance of the type, created with the factory on first use
+    public <T> T get(Class<T> type, Function<WebDriver, T> factory) {
+        T existing = find(type);
+        if (existing != null) {
+            return existing;
+        }
+        // created outside any lock (factories may register their own dependencies
+        // or wait on the page); if two threads race, the first one stored wins
+        T created = factory.apply(driver);
+        Object winner = instances.putIfAbsent(type, created);
+        return winner == null ? created : type.cast(winner);
+    }
+
+    //The shared instance if one was created, else null
+    public <T> T find(Class<T> type) {
+        return type.cast(instances.get(type));
+    }
+}
@@ -0,0 +1,87 @@
+package bots;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ElementCache: resolved elements per driver and locator, so an action does
+ * not look up the element its wait just found. Entries live for one DOM
+ * epoch: any mutating action or new page object starts a new epoch, and a
+ * stale element drops its entry.
+ */
+public class ElementCache {
+
+    private static final Logger log = LogManager.getLogger(ElementCache.class);
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong staleEvictions = new AtomicLong();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private long epoch;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> log.info("Run totals: {}", report()), "element-cache-report"));
+    }
+
+    public static ElementCache of(WebDriver driver) {
+        return DriverRegistry.of(driver).get(ElementCache.class, d -> new ElementCache());
+    }
+
+    //Cached element, or a fresh lookup that is cached
+    public synchronized WebElement find(WebDriver driver, By locator) {
+        WebElement cached = elements.get(locator);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        WebElement found = driver.findElement(locator);
+        elements.put(locator, found);
+        return found;
+    }
+
+    public synchronized void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    //Drop the entry after a failed use; anything may have replaced the node
+    public synchronized void evict(By locator, Exception cause) {
+        if (elements.remove(locator) != null && cause instanceof StaleElementReferenceException) {
+            staleEvictions.incrementAndGet();
+        }
+    }
+
+    //New DOM epoch: the page may have changed under every cached element
+    public synchronized void invalidateAll() {
+        elements.clear();
+        epoch++;
+    }
+
+    //Changes whenever invalidateAll() runs, so other per-page reads can tell they are out of date
+    public synchronized long epoch() {
+        return epoch;
+    }
+
+    //Each hit is a findElement round trip saved
+    public static String report() {
+        return String.format("element cache hits=%d, misses=%d, stale evictions=%d",
+                hits.get(), misses.get(), staleEvictions.get());
+    }
+
+    public static long hits() {
+        return hits.get();
+    }
+
+    public static long misses() {
+        return misses.get();
+    }
+}
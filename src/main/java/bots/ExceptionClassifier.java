@@ -0,0 +1,71 @@
+package bots;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.openqa.selenium.support.ui.UnexpectedTagNameException;
+
+import java.net.ConnectException;
+
+/**
+ * ExceptionClassifier: tells a retry loop whether waiting can help.
+ * TRANSIENT errors (stale, not yet present/interactable, intercepted) are
+ * retried. SESSION errors mean the browser or driver is gone; retrying in
+ * place is pointless but a new session may pass. DETERMINISTIC errors
+ * (bad selector, wrong element type, missing option, bugs) fail the same
+ * way every time.
+ */
+public class ExceptionClassifier {
+
+    public enum Kind { TRANSIENT, SESSION, DETERMINISTIC }
+
+    public static Kind classify(Throwable error) {
+        if (error == null) {
+            return Kind.TRANSIENT;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof NoSuchSessionException
+                    || t instanceof SessionNotCreatedException
+                    || t instanceof NoSuchWindowException
+                    || t instanceof UnreachableBrowserException
+                    || t instanceof ConnectException) {
+                return Kind.SESSION;
+            }
+            if (t instanceof InvalidSelectorException
+                    || t instanceof InvalidArgumentException
+                    || t instanceof UnexpectedTagNameException
+                    || t instanceof UnsupportedCommandException
+                    || t instanceof UnsupportedOperationException
+                    || isMissingSelectOption(t)
+                    || isInPageSelectorError(t)) {
+                return Kind.DETERMINISTIC;
+            }
+        }
+        if (error instanceof ActionFailedException) {
+            return classify(error.getCause());
+        }
+        // Anything outside WebDriver is a programming error, not a timing issue
+        return error instanceof WebDriverException ? Kind.TRANSIENT : Kind.DETERMINISTIC;
+    }
+
+    public static boolean isTerminal(Throwable error) {
+        return classify(error) != Kind.TRANSIENT;
+    }
+
+    //An in-page script rejected a selector (querySelectorAll/evaluate SyntaxError); the
+    //driver reports it as a JavascriptException where a native lookup gives InvalidSelectorException
+    public static boolean isInPageSelectorError(Throwable t) {
+        String message = t.getMessage();
+        return t instanceof JavascriptException
+                && message != null
+                && (message.contains("SyntaxError")
+                    || message.contains("is not a valid selector")
+                    || message.contains("is not a valid XPath expression"));
+    }
+
+    // Select reports an absent option as NoSuchElementException, which is otherwise transient
+    private static boolean isMissingSelectOption(Throwable t) {
+        return t instanceof NoSuchElementException
+                && t.getMessage() != null
+                && t.getMessage().startsWith("Cannot locate option");
+    }
+}
@@ -0,0 +1,67 @@
+package bots;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+
+/**
+ * JsLocator: lets in-page scripts resolve a Selenium By the same way the
+ * driver would, so a wait or read can run in one script round trip.
+ * Only By types that expose remote parameters are supported.
+ */
+public class JsLocator {
+
+    /**
+     * JS helpers prepended to scripts: __find(loc, root) returns all matches,
+     * __visible(el) approximates WebElement.isDisplayed(), __clickable(el) adds
+     * enabled and not covered by another element.
+     */
+    public static final String FUNCTIONS = """
+            function __find(loc, root) {
+              root = root || document;
+              switch (loc.using) {
+                case 'css selector': return Array.from(root.querySelectorAll(loc.value));
+                case 'tag name': return Array.from(root.getElementsByTagName(loc.value));
+                case 'xpath': {
+                  const r = document.evaluate(loc.value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                  const out = [];
+                  for (let i = 0; i < r.snapshotLength; i++) out.push(r.snapshotItem(i));
+                  return out;
+                }
+                case 'link text':
+                  return Array.from(root.querySelectorAll('a')).filter(a => a.innerText.trim() === loc.value);
+                case 'partial link text':
+                  return Array.from(root.querySelectorAll('a')).filter(a => a.innerText.includes(loc.value));
+                default: throw new Error('Unsupported locator strategy: ' + loc.using);
+              }
+            }
+            function __visible(el) {
+              if (!el.isConnected) return false;
+              const style = getComputedStyle(el);
+              if (style.visibility === 'hidden' || style.display === 'none' || style.opacity === '0') return false;
+              return !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);
+            }
+            function __clickable(el) {
+              if (!__visible(el) || el.disabled) return false;
+              const r = el.getBoundingClientRect();
+              const x = r.left + r.width / 2, y = r.top + r.height / 2;
+              // off screen: a native click scrolls first, so coverage can't be judged yet
+              if (x < 0 || y < 0 || x >= innerWidth || y >= innerHeight) return true;
+              const top = document.elementFromPoint(x, y);
+              return !!top && (top === el || el.contains(top));
+            }
+            """;
+
+    public static boolean isSupported(By locator) {
+        return locator instanceof By.Remotable;
+    }
+
+    //Serializable form passed as a script argument: {using, value}
+    public static Map<String, Object> describe(By locator) {
+        if (!isSupported(locator)) {
+            throw new IllegalArgumentException("Locator cannot be resolved in page: " + locator);
+        }
+        By.Remotable.Parameters params = ((By.Remotable) locator).getRemoteParameters();
+        return Map.of("using", params.using(), "value", params.value());
+    }
+}
@@ -0,0 +1,152 @@
+package bots;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.EnvFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * LocatorStats: how long each wait (condition + locator) took to succeed in
+ * this and earlier runs. Waits use it to start polling near the usual
+ * resolve time and to time out at a multiple of the observed p99 instead of
+ * a flat 15 s. History is kept in a JSON file between runs. Only successes
+ * are timed, so a wait that hits its adaptive timeout is kept as a sample at
+ * that timeout (the real time was at least that long) and its key waits the
+ * full time for the rest of the run; a slower page then grows the history
+ * instead of failing at the old p99 forever.
+ */
+public class LocatorStats {
+
+    private static final Logger log = LogManager.getLogger(LocatorStats.class);
+    private static final int MAX_SAMPLES = 200;
+    private static final long MIN_FIRST_POLL_MILLIS = 10;
+    private static final long MAX_FIRST_POLL_MILLIS = 200;
+    private static final Type FILE_TYPE = new TypeToken<Map<String, List<Long>>>() { }.getType();
+
+    private static Map<String, Deque<Long>> samples;
+    // keys whose adaptive timeout fired in this run
+    private static final Set<String> fullTimeout = new HashSet<>();
+
+    //Timeout for this wait: factor x p99 of past waits, within [min, max]
+    public static synchronized Duration timeoutFor(String key, Duration max) {
+        if (!EnvFactory.isAdaptiveWaitsEnabled() || fullTimeout.contains(key)) {
+            return max;
+        }
+        return adaptiveTimeout(history(key), max, EnvFactory.getAdaptiveWaitsMinSamples(),
+                EnvFactory.getAdaptiveWaitsMinTimeoutMillis(), EnvFactory.getAdaptiveWaitsTimeoutFactor());
+    }
+
+    //First poll interval: a quarter of the median resolve time
+    public static synchronized Duration firstPollFor(String key) {
+        if (!EnvFactory.isAdaptiveWaitsEnabled()) {
+            return Duration.ofMillis(MAX_FIRST_POLL_MILLIS);
+        }
+        return firstPoll(history(key));
+    }
+
+    public static synchronized int sampleCount(String key) {
+        return history(key).size();
+    }
+
+    public static synchronized void record(String key, long millis) {
+        Deque<Long> history = history(key);
+        history.addLast(millis);
+        while (history.size() > MAX_SAMPLES) {
+            history.removeFirst();
+        }
+    }
+
+    //The wait gave up at timeout; an adaptive one is kept as a lower-bound sample and not used again this run
+    public static synchronized void recordTimeout(String key, Duration timeout, Duration max) {
+        if (timeout.compareTo(max) < 0) {
+            record(key, timeout.toMillis());
+            fullTimeout.add(key);
+        }
+    }
+
+    //HELPERS
+
+    private static Deque<Long> history(String key) {
+        if (samples == null) {
+            samples = load();
+            Runtime.getRuntime().addShutdownHook(new Thread(LocatorStats::save, "locator-stats-save"));
+        }
+        return samples.computeIfAbsent(key, k -> new ArrayDeque<>());
+    }
+
+    // max until there are minSamples; then factor x p99, within [minMillis, max]
+    static Duration adaptiveTimeout(Collection<Long> history, Duration max, int minSamples, long minMillis, double factor) {
+        if (history.size() < minSamples) {
+            return max;
+        }
+        long adaptive = Math.round(percentile(history, 0.99) * factor);
+        return Duration.ofMillis(Math.min(max.toMillis(), Math.max(minMillis, adaptive)));
+    }
+
+    static Duration firstPoll(Collection<Long> history) {
+        if (history.isEmpty()) {
+            return Duration.ofMillis(MAX_FIRST_POLL_MILLIS);
+        }
+        long quarter = percentile(history, 0.5) / 4;
+        return Duration.ofMillis(Math.min(MAX_FIRST_POLL_MILLIS, Math.max(MIN_FIRST_POLL_MILLIS, quarter)));
+    }
+
+    // nearest-rank percentile
+    static long percentile(Collection<Long> values, double p) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static Path file() {
+        return Path.of(EnvFactory.getAdaptiveWaitsStatsFile());
+    }
+
+    private static Map<String, Deque<Long>> load() {
+        Map<String, Deque<Long>> loaded = new HashMap<>();
+        Path file = file();
+        if (!Files.isRegularFile(file)) {
+            return loaded;
+        }
+        try {
+            Map<String, List<Long>> stored = new Gson().fromJson(Files.readString(file), FILE_TYPE);
+            if (stored != null) {
+                stored.forEach((key, values) -> loaded.put(key, new ArrayDeque<>(values)));
+            }
+            log.info("Loaded wait history for {} locators from {}", loaded.size(), file);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable locator stats {}: {}", file, e.getMessage());
+        }
+        return loaded;
+    }
+
+    private static synchronized void save() {
+        Path file = file();
+        try {
+            Map<String, List<Long>> stored = new TreeMap<>();
+            samples.forEach((key, values) -> {
+                if (!values.isEmpty()) {
+                    stored.put(key, new ArrayList<>(values));
+                }
+            });
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            // write then move, so a parallel run never reads half a file
+            Path tmp = Files.createTempFile(dir, "locator-stats", ".tmp");
+            Files.writeString(tmp, new Gson().toJson(stored));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save locator stats to {}: {}", file, e.getMessage());
+        }
+    }
+}
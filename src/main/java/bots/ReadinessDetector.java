@@ -0,0 +1,55 @@
+package bots;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * ReadinessDetector: decides when a page is usable without waiting for the
+ * full load event. A page is ready once the document has been parsed
+ * (readyState interactive/complete) and its anchor element is visible,
+ * which lets EAGER/NONE page-load strategies return early safely.
+ */
+public class ReadinessDetector {
+
+    private static final String READY_SCRIPT = JsLocator.FUNCTIONS + """
+            if (document.readyState === 'loading') return false;
+            const loc = arguments[0];
+            if (!loc) return true;
+            return __find(loc).some(__visible);
+            """;
+
+    private final WebDriver driver;
+    private final Waitsbot waitsbot;
+
+    public ReadinessDetector(WebDriver driver) {
+        this.driver = driver;
+        this.waitsbot = DriverRegistry.of(driver).waits();
+    }
+
+    //Wait until the document is parsed and the anchor (may be null) is visible
+    public void waitUntilReady(By anchor) {
+        if (anchor != null && !JsLocator.isSupported(anchor)) {
+            waitsbot.fluentwait().until(d -> isParsed());
+            waitsbot.waitForVisibility(anchor);
+            return;
+        }
+        Object loc = anchor == null ? null : JsLocator.describe(anchor);
+        waitsbot.fluentwait().until(d -> {
+            try {
+                return Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(READY_SCRIPT, loc));
+            } catch (Exception e) {
+                // document replaced mid-script during navigation
+                return false;
+            }
+        });
+    }
+
+    private boolean isParsed() {
+        try {
+            return !"loading".equals(((JavascriptExecutor) driver).executeScript("return document.readyState;"));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package bots;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScrollStats: per-test (per-thread) count of the scroll commands ActionsBot
+ * no longer sends. The time saved is an estimate, not a measurement: the
+ * skipped count times the average round trip of the interactions that went
+ * without a scroll (which includes the browser's own scrolling), on the
+ * assumption that a separate scroll command would have cost about as much.
+ */
+public class ScrollStats {
+
+    private static final Logger log = LogManager.getLogger(ScrollStats.class);
+
+    private static final ThreadLocal<ScrollStats> current = ThreadLocal.withInitial(ScrollStats::new);
+
+    private int skipped;
+    private int scrolledInPage;
+    private int timedCommands;
+    private long commandNanos;
+
+    //A scroll was skipped; startNanos times the interaction that went without it
+    static void skipped(long startNanos) {
+        ScrollStats stats = current.get();
+        stats.skipped++;
+        stats.timedCommands++;
+        stats.commandNanos += System.nanoTime() - startNanos;
+    }
+
+    static void skipped() {
+        current.get().skipped++;
+    }
+
+    // off-screen element scrolled inside the same script as the interaction
+    static void scrolledInPage() {
+        current.get().scrolledInPage++;
+    }
+
+    //Log this test's figures and start over
+    public static void logAndReset() {
+        ScrollStats stats = current.get();
+        current.remove();
+        if (stats.skipped == 0 && stats.scrolledInPage == 0) {
+            return;
+        }
+        long avgMillis = stats.timedCommands == 0 ? 0
+                : TimeUnit.NANOSECONDS.toMillis(stats.commandNanos / stats.timedCommands);
+        log.info("Scroll commands skipped: {} (estimated ~{} ms saved, at {} ms per interaction round trip), in-page scrolls: {}",
+                stats.skipped, stats.skipped * avgMillis, avgMillis, stats.scrolledInPage);
+    }
+}
@@ -0,0 +1,128 @@
+package bots;
+
+import drivers.NetworkTracker;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+
+/**
+ * SettleWaiter: waits until the page is quiet instead of sleeping for a
+ * guessed delay. Network idle means no fetch/XHR in flight and no resource
+ * finished loading for a short quiet window. Requests are counted by
+ * NetworkTracker, which runs at document start where the session allows it
+ * (BiDi or CDP); elsewhere the first wait in each document installs it, and
+ * requests already in flight then are missed. Other resources (images,
+ * scripts, styles) are seen only through resource timing, once they finish.
+ * Animations settled means no running Web Animations (CSS transitions
+ * included) and no scroll or element movement between two frames. Both run
+ * as async scripts in bounded slices, like DomWaiter; a failed slice is
+ * retried with backoff, and three failures in a row end the wait.
+ */
+public class SettleWaiter {
+
+    private static final long QUIET_MILLIS = 500;
+    private static final int MAX_SCRIPT_FAILURES = 3;
+    private static final long FIRST_RETRY_MILLIS = 50;
+    private static final long MAX_RETRY_MILLIS = 500;
+
+    private static final String NETWORK_IDLE_SCRIPT = "(" + NetworkTracker.SOURCE + ")();\n" + """
+            const quietMs = arguments[0], sliceMs = arguments[1];
+            const done = arguments[arguments.length - 1];
+            const lastActivity = () => Math.max(window.__swagNet.last,
+                ...performance.getEntriesByType('resource').map(e => e.responseEnd));
+            const idle = () => window.__swagNet.inflight === 0 && performance.now() - lastActivity() >= quietMs;
+            const started = Date.now();
+            const timer = setInterval(() => {
+              if (idle()) { clearInterval(timer); done(true); }
+              else if (Date.now() - started > sliceMs) { clearInterval(timer); done(false); }
+            }, 50);
+            """;
+
+    private static final String SETTLED_SCRIPT = """
+            const el = arguments[0], sliceMs = arguments[1];
+            const done = arguments[arguments.length - 1];
+            // infinite animations (spinners) never finish; only finite running ones count
+            const running = () => (el ? el.getAnimations({subtree: true}) : document.getAnimations())
+                .some(a => a.playState === 'running' && a.effect
+                    && a.effect.getComputedTiming().endTime !== Infinity);
+            const position = () => {
+              const r = el ? el.getBoundingClientRect() : {top: 0, left: 0};
+              return [scrollX, scrollY, r.top, r.left].join();
+            };
+            const started = Date.now();
+            let previous = position();
+            const frame = () => {
+              const current = position();
+              if (!running() && current === previous) { done(true); return; }
+              if (Date.now() - started > sliceMs) { done(false); return; }
+              previous = current;
+              requestAnimationFrame(() => requestAnimationFrame(frame));
+            };
+            requestAnimationFrame(() => requestAnimationFrame(frame));
+            """;
+
+    private final WebDriver driver;
+
+    public SettleWaiter(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    //True once no request has been in flight for the quiet window, false on timeout
+    public boolean awaitNetworkIdle(Duration timeout) {
+        return awaitInSlices(timeout, NETWORK_IDLE_SCRIPT, QUIET_MILLIS, DomWaiter.sliceMillis());
+    }
+
+    //True once nothing animates and nothing moves (element may be null for the whole page), false on timeout
+    public boolean awaitAnimationsSettled(WebElement element, Duration timeout) {
+        return awaitInSlices(timeout, SETTLED_SCRIPT, element, DomWaiter.sliceMillis());
+    }
+
+    //HELPERS
+
+    private boolean awaitInSlices(Duration timeout, String script, Object... args) {
+        if (!(driver instanceof JavascriptExecutor js)) {
+            // nothing to observe without scripts
+            return true;
+        }
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        int failures = 0;
+        long retry = FIRST_RETRY_MILLIS;
+        while (true) {
+            try {
+                if (Boolean.TRUE.equals(js.executeAsyncScript(script, args))) {
+                    return true;
+                }
+                failures = 0;
+                retry = FIRST_RETRY_MILLIS;
+            } catch (ScriptTimeoutException e) {
+                failures = 0;
+            } catch (WebDriverException e) {
+                // a document replaced mid-script is retried; a lost session, or a script that keeps failing, is not
+                if (ExceptionClassifier.isTerminal(e) || ++failures >= MAX_SCRIPT_FAILURES) {
+                    throw e;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining > 0) {
+                    pause(Math.min(retry, remaining));
+                }
+                retry = Math.min(retry * 2, MAX_RETRY_MILLIS);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for the page to settle", e);
+        }
+    }
+}
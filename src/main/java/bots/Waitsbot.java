@@ -9,15 +9,17 @@ import java.util.function.Function;
 
 public class Waitsbot {
 
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
     private final WebDriver driver;
+    private final DomWaiter domWaiter;
+    private final FluentWait<WebDriver> fluentwait;
 
     public Waitsbot(WebDriver driver) {
         this.driver = driver;
-    }
-
-    public FluentWait<WebDriver> fluentwait() {
-        return new FluentWait<>(driver)
-                .withTimeout(Duration.ofSeconds(15))
+        this.domWaiter = new DomWaiter(driver);
+        this.fluentwait = new FluentWait<>(driver)
+                .withTimeout(TIMEOUT)
                 .pollingEvery(Duration.ofMillis(200))
                 .ignoring(NoSuchElementException.class)
                 .ignoring(StaleElementReferenceException.class)
@@ -25,22 +27,93 @@ public class Waitsbot {
                 .ignoring(ElementClickInterceptedException.class);
     }
 
-    public void waitForPresence(By locator) {
-        fluentwait().until(d -> !d.findElements(locator).isEmpty());
+    //Built once and shared by every caller; use it as is, do not reconfigure it
+    public FluentWait<WebDriver> fluentwait() {
+        return fluentwait;
+    }
+
+    public WebElement waitForPresence(By locator) {
+        return awaitElement(locator, DomWaiter.Condition.PRESENT);
+    }
+
+    public WebElement waitForVisibility(By locator) {
+        return awaitElement(locator, DomWaiter.Condition.VISIBLE);
     }
 
-    public void waitForVisibility(By locator) {
-        fluentwait().until(d -> {
-            try {
-                WebElement e = d.findElement(locator);
-                return e.isDisplayed();
-            } catch (Exception ex) {
-                return false;
-            }
-        });
+    //Visible, enabled and not covered by another element, checked together in one pass
+    public WebElement waitForClickable(By locator) {
+        return awaitElement(locator, DomWaiter.Condition.CLICKABLE);
+    }
+
+    //All matches, as soon as at least one is present
+    public List<WebElement> waitForAll(By locator) {
+        String key = DomWaiter.Condition.ALL + " " + locator;
+        Duration timeout = LocatorStats.timeoutFor(key, TIMEOUT);
+        long start = System.currentTimeMillis();
+        List<WebElement> elements = domWaiter.findAll(locator, timeout, LocatorStats.firstPollFor(key));
+        if (elements == null) {
+            throw timedOut(locator, DomWaiter.Condition.ALL, key, timeout);
+        }
+        LocatorStats.record(key, System.currentTimeMillis() - start);
+        return elements;
     }
 
     public void waitForElementToDisappear(By locator) {
-        fluentwait().until(d -> d.findElements(locator).isEmpty());
+        awaitInPage(locator, DomWaiter.Condition.GONE);
+    }
+
+    //No fetch/XHR in flight and no resource loaded for a short quiet window
+    public void waitForNetworkIdle() {
+        if (!new SettleWaiter(driver).awaitNetworkIdle(TIMEOUT)) {
+            throw new TimeoutException("Expected condition failed: waiting for network idle (tried for " + TIMEOUT.toMillis() + " ms)");
+        }
+    }
+
+    //No finite animation running and no scrolling anywhere on the page
+    public void waitForAnimationsToSettle() {
+        waitForAnimationsToSettle(null);
+    }
+
+    //The element and its subtree have stopped animating and moving (e.g. after a smooth scroll)
+    public void waitForAnimationsToSettle(WebElement element) {
+        if (!new SettleWaiter(driver).awaitAnimationsSettled(element, TIMEOUT)) {
+            throw new TimeoutException("Expected condition failed: waiting for animations to settle"
+                    + (element == null ? "" : " on " + element) + " (tried for " + TIMEOUT.toMillis() + " ms)");
+        }
+    }
+
+    //Waits for the condition and hands back the matched element (also cached for the ActionsBot)
+    private WebElement awaitElement(By locator, DomWaiter.Condition condition) {
+        String key = condition + " " + locator;
+        Duration timeout = LocatorStats.timeoutFor(key, TIMEOUT);
+        long start = System.currentTimeMillis();
+        WebElement element = domWaiter.find(locator, condition, timeout, LocatorStats.firstPollFor(key));
+        if (element == null) {
+            throw timedOut(locator, condition, key, timeout);
+        }
+        LocatorStats.record(key, System.currentTimeMillis() - start);
+        ElementCache.of(driver).put(locator, element);
+        return element;
+    }
+
+    //Event-driven: returns as soon as the DOM satisfies the condition; timeout adapts to the locator's history
+    private void awaitInPage(By locator, DomWaiter.Condition condition) {
+        String key = condition + " " + locator;
+        Duration timeout = LocatorStats.timeoutFor(key, TIMEOUT);
+        long start = System.currentTimeMillis();
+        if (!domWaiter.await(locator, condition, timeout, LocatorStats.firstPollFor(key))) {
+            throw timedOut(locator, condition, key, timeout);
+        }
+        LocatorStats.record(key, System.currentTimeMillis() - start);
+    }
+
+    //Also feeds the timeout back into the history, so adaptive timeouts can grow again
+    private TimeoutException timedOut(By locator, DomWaiter.Condition condition, String key, Duration timeout) {
+        TimeoutException e = new TimeoutException(String.format("Expected condition failed: waiting for %s of %s (tried for %d ms%s)",
+                condition.name().toLowerCase(), locator, timeout.toMillis(),
+                timeout.equals(TIMEOUT) ? "" : ", adaptive timeout from " + LocatorStats.sampleCount(key)
+                        + " past waits; full timeout for this wait from now on"));
+        LocatorStats.recordTimeout(key, timeout, TIMEOUT);
+        return e;
     }
 }
@@ -1,7 +1,38 @@
 package drivers;
 
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
+import utils.EnvFactory;
+
+import java.nio.file.Path;
+import java.util.function.Function;
 
 public abstract class Abstractdriver {
     public abstract WebDriver createDriver();
+
+    // normal | eager | none; pages wait for their own anchor via ReadinessDetector
+    protected PageLoadStrategy pageLoadStrategy() {
+        return PageLoadStrategy.fromString(EnvFactory.getPageLoadStrategy().toLowerCase());
+    }
+
+    protected boolean useProfileTemplate() {
+        return EnvFactory.isProfileTemplateEnabled();
+    }
+
+    // Launch with a per-session copy of the profile template (null when disabled);
+    // the copy is deleted when the session quits or the launch fails
+    protected WebDriver withProfileCopy(String kind, Function<Path, WebDriver> launch) {
+        if (!useProfileTemplate()) {
+            return launch.apply(null);
+        }
+        Path profile = ProfileTemplate.newSessionCopy(kind);
+        try {
+            WebDriver driver = launch.apply(profile);
+            DriverSessions.onQuit(driver, () -> ProfileTemplate.delete(profile));
+            return driver;
+        } catch (RuntimeException e) {
+            ProfileTemplate.delete(profile);
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package drivers;
+
+import com.sun.management.OperatingSystemMXBean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AdmissionController: gates new browser sessions on what the agent can
+ * actually afford right now. A session is admitted while free memory covers
+ * the measured per-browser footprint (plus a reserve) for it and for every
+ * session still starting, and CPU load is below the ceiling. Everyone else
+ * waits in line; the time spent waiting is recorded so agents can be sized.
+ */
+public class AdmissionController {
+
+    private static final Logger log = LogManager.getLogger(AdmissionController.class);
+    private static final long MB = 1024 * 1024;
+    private static final long RECHECK_MILLIS = 1000;
+    // weight of a new footprint sample in the running estimate
+    private static final double FOOTPRINT_SMOOTHING = 0.3;
+
+    private final OperatingSystemMXBean os =
+            (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final int maxSessions;
+    private final long reserveBytes;
+    private final double maxCpuLoad;
+    private final long maxWaitMillis;
+
+    private long footprintBytes;
+    private boolean footprintMeasured;
+    private int active;
+    private int starting;
+    private int peak;
+    private final LongSummaryStatistics queueWaits = new LongSummaryStatistics();
+
+    public AdmissionController(int maxSessions, long reserveMb, double maxCpuLoad,
+                               long defaultFootprintMb, long maxWaitSeconds) {
+        this.maxSessions = maxSessions > 0 ? maxSessions : Runtime.getRuntime().availableProcessors();
+        this.reserveBytes = reserveMb * MB;
+        this.maxCpuLoad = maxCpuLoad;
+        this.footprintBytes = defaultFootprintMb * MB;
+        this.maxWaitMillis = TimeUnit.SECONDS.toMillis(maxWaitSeconds);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::logSummary, "admission-summary"));
+        log.info("Admission control: max {} sessions, {} MB reserve, cpu <= {}%, assumed {} MB per browser",
+                this.maxSessions, reserveMb, Math.round(maxCpuLoad * 100), defaultFootprintMb);
+    }
+
+    //Block until a session may start; never fails, admits anyway after the max wait
+    public synchronized void acquire() {
+        long start = System.currentTimeMillis();
+        String reason;
+        while ((reason = refusal()) != null) {
+            long waited = System.currentTimeMillis() - start;
+            if (waited >= maxWaitMillis) {
+                log.warn("Admitting after {} ms despite: {}", waited, reason);
+                break;
+            }
+            try {
+                // resources free up without anyone calling release, so re-check periodically
+                wait(RECHECK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queued for a browser slot", e);
+            }
+        }
+        long waited = System.currentTimeMillis() - start;
+        queueWaits.accept(waited);
+        active++;
+        starting++;
+        peak = Math.max(peak, active);
+        if (waited > 0) {
+            log.info("Browser slot granted after {} ms in queue ({} active)", waited, active);
+        }
+    }
+
+    //The admitted session is up, its memory now shows in the free figure
+    public synchronized void started() {
+        starting = Math.max(0, starting - 1);
+        notifyAll();
+    }
+
+    //Give the slot back; residentBytes < 0 means the session could not be measured
+    public synchronized void release(long residentBytes) {
+        if (residentBytes > 0) {
+            footprintBytes = footprintMeasured
+                    ? Math.round(footprintBytes * (1 - FOOTPRINT_SMOOTHING) + residentBytes * FOOTPRINT_SMOOTHING)
+                    : residentBytes;
+            footprintMeasured = true;
+        }
+        active = Math.max(0, active - 1);
+        notifyAll();
+    }
+
+    //HELPERS
+
+    // null when a new session may start, otherwise why not
+    private String refusal() {
+        if (active == 0) {
+            return null;
+        }
+        if (active >= maxSessions) {
+            return "session cap " + maxSessions + " reached";
+        }
+        long needed = footprintBytes * (starting + 1) + reserveBytes;
+        long free = freeMemoryBytes();
+        if (free < needed) {
+            return String.format("free memory %d MB < %d MB needed", free / MB, needed / MB);
+        }
+        double cpu = os.getCpuLoad();
+        if (cpu > maxCpuLoad) {
+            return String.format("cpu load %d%% above %d%%", Math.round(cpu * 100), Math.round(maxCpuLoad * 100));
+        }
+        return null;
+    }
+
+    // MemFree ignores reclaimable page cache, so prefer MemAvailable unless a container limit is tighter
+    private long freeMemoryBytes() {
+        long free = os.getFreeMemorySize();
+        try {
+            long hostTotal = -1;
+            long available = -1;
+            for (String line : Files.readAllLines(Path.of("/proc/meminfo"))) {
+                if (line.startsWith("MemTotal:")) {
+                    hostTotal = Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                } else if (line.startsWith("MemAvailable:")) {
+                    available = Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+            if (available > 0 && os.getTotalMemorySize() >= hostTotal) {
+                return available;
+            }
+        } catch (IOException | NumberFormatException ignored) { }
+        return free;
+    }
+
+    private synchronized void logSummary() {
+        if (queueWaits.getCount() == 0) {
+            return;
+        }
+        log.info("Admission summary: {} sessions, peak {} concurrent, queue wait avg {} ms / max {} ms / total {} ms, "
+                        + "browser footprint {} MB{}",
+                queueWaits.getCount(), peak, Math.round(queueWaits.getAverage()), queueWaits.getMax(),
+                queueWaits.getSum(), footprintBytes / MB, footprintMeasured ? "" : " (assumed)");
+    }
+}
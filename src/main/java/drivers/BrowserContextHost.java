@@ -0,0 +1,157 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.CreateContextParameters;
+import org.openqa.selenium.bidi.module.Browser;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * BrowserContextHost: runs ONE browser process and hands every test its own
+ * BiDi user context (separate cookies and storage) with a tab inside it.
+ * Classic WebDriver commands target the session's current window, so each
+ * handle remembers the window and frame its test switched to, restores them
+ * before its next command, and commands are serialized. The session runs
+ * one command at a time anyway, so in-page waits keep their script slices
+ * short in this mode (see DomWaiter.sliceMillis()).
+ */
+public class BrowserContextHost {
+
+    private static final Logger log = LogManager.getLogger(BrowserContextHost.class);
+
+    private final Supplier<WebDriver> launcher;
+    private final Object lock = new Object();
+    private WebDriver browser;
+    // scope whose window and frame the session is on; null when another window is active
+    private ContextScope active;
+
+    public BrowserContextHost(Supplier<WebDriver> launcher) {
+        this.launcher = launcher;
+    }
+
+    //Open a fresh user context + tab and return a handle scoped to it
+    public WebDriver newContext() {
+        synchronized (lock) {
+            WebDriver host = getBrowser();
+            String userContext = new Browser(host).createUserContext();
+            String contextId = new BrowsingContext(host,
+                    new CreateContextParameters(WindowType.TAB).userContext(userContext)).getId();
+            log.info("Opened user context {} (tab {})", userContext, contextId);
+            return new ContextScope(contextId, userContext).decorate(host);
+        }
+    }
+
+    public void shutdown() {
+        synchronized (lock) {
+            if (browser != null) {
+                DriverSessions.quit(browser);
+                browser = null;
+            }
+        }
+    }
+
+    //HELPERS
+
+    private WebDriver getBrowser() {
+        if (browser == null) {
+            browser = launcher.get();
+            // the initial tab belongs to no test and is never closed, so removing contexts never ends the session
+            active = null;
+        }
+        return browser;
+    }
+
+    private void close(ContextScope scope, String userContext) {
+        synchronized (lock) {
+            if (browser == null) {
+                return;
+            }
+            try {
+                new Browser(browser).removeUserContext(userContext);
+            } catch (Exception e) {
+                log.warn("Failed to remove user context {}: {}", userContext, e.getMessage());
+            }
+            if (active == scope) {
+                active = null;
+            }
+        }
+    }
+
+    // Decorator that pins every call (driver, element, navigation...) to one tab, or to the window/frame its test chose
+    private class ContextScope extends WebDriverDecorator<WebDriver> {
+
+        private final String contextId;
+        private final String userContext;
+        // window the test is on and the frame switches made inside it, replayed when another scope had the session
+        private String window;
+        private final List<Replay> frames = new ArrayList<>();
+
+        ContextScope(String contextId, String userContext) {
+            this.contextId = contextId;
+            this.userContext = userContext;
+            this.window = contextId;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            if (original instanceof WebDriver && method.getName().equals("quit")) {
+                close(this, userContext);
+                return null;
+            }
+            synchronized (lock) {
+                if (active != this) {
+                    restore();
+                }
+                Object result = super.call(target, method, args);
+                if (original instanceof WebDriver.TargetLocator) {
+                    track(target, method, args);
+                } else if (original instanceof WebDriver && method.getName().equals("close")) {
+                    // the window is gone; the test has to switch before its next command
+                    window = contextId;
+                    frames.clear();
+                }
+                return result;
+            }
+        }
+
+        private void restore() throws Throwable {
+            active = null;
+            browser.switchTo().window(window);
+            for (Replay frame : frames) {
+                frame.run();
+            }
+            active = this;
+        }
+
+        private void track(Decorated<?> target, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "window", "newWindow" -> {
+                    window = browser.getWindowHandle();
+                    frames.clear();
+                }
+                case "defaultContent" -> frames.clear();
+                case "parentFrame" -> {
+                    if (!frames.isEmpty()) {
+                        frames.remove(frames.size() - 1);
+                    }
+                }
+                case "frame" -> frames.add(() -> super.call(target, method, args));
+                default -> { }
+            }
+        }
+    }
+
+    private interface Replay {
+        void run() throws Throwable;
+    }
+}
@@ -1,15 +1,25 @@
 package drivers;
 
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 
+import java.io.File;
+
 public class ChromeFactory extends Abstractdriver {
 
     private final boolean headless;
+    private final boolean bidi;
 
     public ChromeFactory(boolean headless) {
+        this(headless, false);
+    }
+
+    public ChromeFactory(boolean headless, boolean bidi) {
         this.headless = headless;
+        this.bidi = bidi;
     }
 
     private ChromeOptions getOptions() {
@@ -24,11 +34,46 @@ public class ChromeFactory extends Abstractdriver {
         if (headless)
             options.addArguments("--headless=new");
 
+        if (useProfileTemplate())
+            options.addArguments(ProfileTemplate.CHROMIUM_STARTUP_FLAGS);
+
+        options.setPageLoadStrategy(pageLoadStrategy());
+
+        if (bidi)
+            options.enableBiDi();
+
         return options;
     }
 
     @Override
     public WebDriver createDriver() {
-        return new ChromeDriver(getOptions());
+        ChromeOptions options = getOptions();
+        return withProfileCopy("chromium", profile -> {
+            if (profile != null)
+                options.addArguments("--user-data-dir=" + profile);
+            try {
+                return launch(options);
+            } catch (SessionNotCreatedException e) {
+                // cached driver may no longer match an updated browser; rediscover once
+                DriverBinaryResolver.invalidate(options);
+                return launch(options);
+            }
+        });
+    }
+
+    private WebDriver launch(ChromeOptions options) {
+        DriverBinaryResolver.Binaries binaries =
+                DriverBinaryResolver.resolve(ChromeDriverService.createDefaultService(), options);
+        if (binaries.browserPath() != null)
+            options.setBinary(binaries.browserPath());
+
+        ChromeDriverService service = new ChromeDriverService.Builder()
+                .usingDriverExecutable(new File(binaries.driverPath()))
+                .build();
+        WebDriver driver = new ChromeDriver(service, options);
+        SessionWatchdog.track(driver, service);
+        NetworkTracker.install(driver);
+        LeanNetworkProfile.installIfEnabled(driver);
+        return driver;
     }
 }
@@ -0,0 +1,167 @@
+package drivers;
+
+import com.google.gson.GsonBuilder;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandMetrics: WebDriver listener that times every command and keeps a
+ * latency histogram per command (e.g. WebElement.click) and per calling
+ * page object or test method. Histograms use fixed buckets and lock-free
+ * counters so it can stay on in CI.
+ */
+public class CommandMetrics implements WebDriverListener {
+
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+
+    // upper bounds in ms; the last bucket is open-ended
+    private static final long[] BUCKETS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+    private static final StackWalker STACK = StackWalker.getInstance();
+
+    private final Map<String, Histogram> byCommand = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> byCaller = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static CommandMetrics get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() != Object.class) {
+            starts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, true);
+    }
+
+    //Histograms as JSON: {"byCommand": {...}, "byCaller": {...}}, slowest total first
+    public String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("byCommand", snapshot(byCommand));
+        report.put("byCaller", snapshot(byCaller));
+        return new GsonBuilder().setPrettyPrinting().create().toJson(report);
+    }
+
+    //Top commands by total time, one line each, for the log
+    public List<String> summary(int limit) {
+        return byCommand.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().totalNanos.sum()).reversed())
+                .limit(limit)
+                .map(e -> String.format("%s: %d calls, %d ms total, p95 <= %d ms",
+                        e.getKey(), e.getValue().count.sum(),
+                        TimeUnit.NANOSECONDS.toMillis(e.getValue().totalNanos.sum()), e.getValue().percentileMs(0.95)))
+                .toList();
+    }
+
+    //HELPERS
+
+    private void record(Method method, boolean failed) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        byCommand.computeIfAbsent(command, c -> new Histogram()).add(nanos, failed);
+        byCaller.computeIfAbsent(caller(), c -> new Histogram()).add(nanos, failed);
+    }
+
+    // nearest page object or test method on the stack; bots and drivers are plumbing
+    private static String caller() {
+        return STACK.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("pages.") || f.getClassName().startsWith("tests."))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse("other"));
+    }
+
+    private static Map<String, Object> snapshot(Map<String, Histogram> histograms) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().totalNanos.sum()).reversed())
+                .forEach(e -> out.put(e.getKey(), e.getValue().toMap()));
+        return out;
+    }
+
+    private static class Histogram {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS_MS.length + 1];
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void add(long nanos, boolean failed) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (failed) {
+                errors.increment();
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKETS_MS.length && millis > BUCKETS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        // bucket upper bound containing the percentile; the max for the open bucket
+        long percentileMs(double p) {
+            long total = count.sum();
+            long target = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= target) {
+                    return BUCKETS_MS[i];
+                }
+            }
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> out = new LinkedHashMap<>();
+            long n = count.sum();
+            out.put("count", n);
+            out.put("errors", errors.sum());
+            out.put("totalMs", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            out.put("meanMs", n == 0 ? 0 : Math.round(totalNanos.sum() / 1e6 / n * 10) / 10.0);
+            out.put("maxMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            out.put("p50Ms", percentileMs(0.50));
+            out.put("p95Ms", percentileMs(0.95));
+            out.put("p99Ms", percentileMs(0.99));
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                counts.put(i < BUCKETS_MS.length ? "<=" + BUCKETS_MS[i] : ">" + BUCKETS_MS[BUCKETS_MS.length - 1],
+                        buckets[i].sum());
+            }
+            out.put("buckets", counts);
+            return out;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.BuildInfo;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+import utils.EnvFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverBinaryResolver: runs Selenium Manager discovery once per machine and
+ * caches the driver/browser paths under a directory versioned by the Selenium
+ * release. Later launches read the cache and never touch the network.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger log = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static final Map<String, Binaries> resolved = new ConcurrentHashMap<>();
+
+    public record Binaries(String driverPath, String browserPath) {
+
+        boolean exist() {
+            return isFile(driverPath) && (browserPath == null || isFile(browserPath));
+        }
+
+        private static boolean isFile(String path) {
+            return path != null && Files.isRegularFile(Path.of(path));
+        }
+    }
+
+    //Resolve from memory, then disk, then Selenium Manager
+    public static synchronized Binaries resolve(DriverService service, Capabilities options) {
+        String key = cacheKey(options);
+        Binaries binaries = resolved.get(key);
+        if (binaries != null && binaries.exist()) {
+            return binaries;
+        }
+
+        binaries = readCache(key);
+        if (binaries == null || !binaries.exist()) {
+            log.info("Resolving {} binaries with Selenium Manager", key);
+            DriverFinder finder = new DriverFinder(service, options);
+            binaries = new Binaries(finder.getDriverPath(),
+                    finder.hasBrowserPath() ? finder.getBrowserPath() : null);
+            writeCache(key, binaries);
+        }
+        resolved.put(key, binaries);
+        return binaries;
+    }
+
+    //Drop a cached entry, e.g. after the browser updated and the driver no longer matches
+    public static synchronized void invalidate(Capabilities options) {
+        String key = cacheKey(options);
+        resolved.remove(key);
+        try {
+            Files.deleteIfExists(cacheFile(key));
+        } catch (IOException e) {
+            log.warn("Failed to delete cached binaries for {}: {}", key, e.getMessage());
+        }
+    }
+
+    //HELPERS
+
+    private static String cacheKey(Capabilities options) {
+        String os = System.getProperty("os.name").toLowerCase().replaceAll("\\s+", "");
+        return options.getBrowserName() + "-" + os + "-" + System.getProperty("os.arch");
+    }
+
+    private static Path cacheFile(String key) {
+        String root = EnvFactory.getDriverCacheDir();
+        Path base = (root == null || root.isBlank())
+                ? Path.of(System.getProperty("user.home"), ".cache", "swag-drivers")
+                : Path.of(root);
+        return base.resolve("selenium-" + new BuildInfo().getReleaseLabel()).resolve(key + ".properties");
+    }
+
+    private static Binaries readCache(String key) {
+        Path file = cacheFile(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            props.load(reader);
+            return new Binaries(props.getProperty("driverPath"), props.getProperty("browserPath"));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable binary cache {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeCache(String key, Binaries binaries) {
+        Path file = cacheFile(key);
+        Properties props = new Properties();
+        props.setProperty("driverPath", binaries.driverPath());
+        if (binaries.browserPath() != null) {
+            props.setProperty("browserPath", binaries.browserPath());
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            // write then move, so a parallel JVM never reads a half-written file
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                props.store(writer, "Resolved by Selenium Manager");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Cached {} binaries in {}", key, file);
+        } catch (IOException e) {
+            log.warn("Failed to cache binaries for {}: {}", key, e.getMessage());
+        }
+    }
+}
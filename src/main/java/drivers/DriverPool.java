@@ -0,0 +1,266 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DriverPool: keeps N warm browser sessions alive and leases one per test.
+ * Returned sessions are reset in the background; sessions that fail the
+ * health probe or reach maxReuse are evicted and replaced. N bounds every
+ * live session (idle, leased, resetting or launching); a lease waits for
+ * one to come back rather than launching past it. After shutdown, sessions
+ * still being reset, launched or returned are quit instead of pooled.
+ */
+public class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+    private static final long LEASE_TIMEOUT_SECONDS = 60;
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final Supplier<WebDriver> launcher;
+    private final int size;
+    private final int maxReuse;
+    private final String baseUrl;
+
+    private final BlockingQueue<PooledSession> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    // launches and resets in flight: sessions that will reach the idle queue soon
+    private final AtomicInteger pending = new AtomicInteger();
+    // every session that exists or is being launched; never above size
+    private final AtomicInteger live = new AtomicInteger();
+    private final ExecutorService background;
+    private volatile boolean closed;
+
+    public DriverPool(Supplier<WebDriver> launcher, int size, int maxReuse, String baseUrl) {
+        this.launcher = launcher;
+        this.size = Math.max(1, size);
+        this.maxReuse = maxReuse;
+        this.baseUrl = baseUrl;
+        this.background = Executors.newFixedThreadPool(this.size, r -> {
+            Thread t = new Thread(r, "driver-pool");
+            t.setDaemon(true);
+            return t;
+        });
+
+        for (int i = 0; i < this.size; i++) {
+            replenish();
+        }
+        log.info("Driver pool started: size={}, maxReuse={}", size, maxReuse);
+    }
+
+    //Lease a healthy session: an idle one, a new one while below the cap, else wait for one to come back
+    public WebDriver lease() {
+        while (true) {
+            PooledSession session = takeIdle();
+            if (!isHealthy(session.driver)) {
+                log.warn("Evicting unhealthy pooled session");
+                retire(session);
+                continue;
+            }
+            session.uses++;
+            leased.put(session.driver, session);
+            return session.driver;
+        }
+    }
+
+    //Return a session: reset it for the next test or retire it
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null || closed) {
+            quitQuietly(driver);
+            return;
+        }
+        if (session.uses >= maxReuse) {
+            log.info("Retiring pooled session after {} uses", session.uses);
+            inBackground(() -> retire(session), session);
+            return;
+        }
+        pending.incrementAndGet();
+        if (!inBackground(() -> {
+            try {
+                reset(session.driver);
+                offerIdle(session);
+            } catch (Exception e) {
+                log.warn("Reset failed, evicting pooled session: {}", e.getMessage());
+                retire(session);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }, session)) {
+            pending.decrementAndGet();
+        }
+    }
+
+    public void shutdown() {
+        closed = true;
+        background.shutdownNow();
+        try {
+            // a reset or launch already past its blocking call finishes and sees closed
+            if (!background.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Driver pool tasks still running after {} s; their sessions quit when they finish",
+                        SHUTDOWN_WAIT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PooledSession> all = new ArrayList<>(leased.values());
+        idle.drainTo(all);
+        leased.clear();
+        for (PooledSession session : all) {
+            quitQuietly(session.driver);
+        }
+    }
+
+    //HELPERS
+
+    private PooledSession takeIdle() {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(LEASE_TIMEOUT_SECONDS);
+        while (true) {
+            if (closed) {
+                throw new SessionNotCreatedException("Driver pool is shut down");
+            }
+            PooledSession session = idle.poll();
+            if (session != null) {
+                return session;
+            }
+            // nothing idle and nothing on its way: a slot is free, so launch here rather than wait
+            if (pending.get() == 0 && reserve()) {
+                log.warn("No warm session available, launching inline");
+                try {
+                    return new PooledSession(launcher.get());
+                } catch (RuntimeException e) {
+                    live.decrementAndGet();
+                    throw e;
+                }
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new SessionNotCreatedException("No pooled session became available within "
+                        + LEASE_TIMEOUT_SECONDS + " s (pool size " + size + ", " + live.get() + " live)");
+            }
+            try {
+                // short slices so a slot freed by an eviction is noticed
+                session = idle.poll(Math.min(remaining, 1000), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SessionNotCreatedException("Interrupted while waiting for a pooled session");
+            }
+            if (session != null) {
+                return session;
+            }
+        }
+    }
+
+    // claim a slot for a new session if the pool is below its size
+    private boolean reserve() {
+        while (true) {
+            int current = live.get();
+            if (current >= size) {
+                return false;
+            }
+            if (live.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // quit a session, free its slot and launch its replacement
+    private void retire(PooledSession session) {
+        quitQuietly(session.driver);
+        live.decrementAndGet();
+        replenish();
+    }
+
+    private void replenish() {
+        if (closed || !reserve()) {
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            background.submit(() -> {
+                try {
+                    offerIdle(new PooledSession(launcher.get()));
+                } catch (Exception e) {
+                    live.decrementAndGet();
+                    log.error("Failed to launch pooled session: {}", e.getMessage());
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // shut down between the check and the submit
+            live.decrementAndGet();
+            pending.decrementAndGet();
+        }
+    }
+
+    // pool a ready session, or quit it if the pool has shut down meanwhile
+    private void offerIdle(PooledSession session) {
+        if (!closed) {
+            idle.offer(session);
+            // shutdown may have drained the queue just before the offer
+            if (!closed || !idle.remove(session)) {
+                return;
+            }
+        }
+        quitQuietly(session.driver);
+    }
+
+    // run a task for a returned session; if the executor is already shut down, quit the session here
+    private boolean inBackground(Runnable task, PooledSession session) {
+        try {
+            background.submit(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            quitQuietly(session.driver);
+            return false;
+        }
+    }
+
+    private void reset(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = 1; i < handles.size(); i++) {
+            driver.switchTo().window(handles.get(i)).close();
+        }
+        driver.switchTo().window(handles.get(0));
+
+        // storage and cookies are per origin, so clear them while on the app
+        driver.get(baseUrl);
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(
+                "window.localStorage.clear(); window.sessionStorage.clear();");
+        driver.get(baseUrl);
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        DriverSessions.quit(driver);
+    }
+
+    private static class PooledSession {
+        final WebDriver driver;
+        int uses;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
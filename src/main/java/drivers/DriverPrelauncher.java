@@ -0,0 +1,71 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * DriverPrelauncher: keeps {@code depth} browser launches running in the
+ * background so the next test picks up an already started session.
+ * Sessions are handed out unguarded; the caller applies ThreadGuard.
+ */
+public class DriverPrelauncher {
+
+    private static final Logger log = LogManager.getLogger(DriverPrelauncher.class);
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final Supplier<WebDriver> launcher;
+    private final int depth;
+    private final Queue<Future<WebDriver>> launches = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor;
+
+    public DriverPrelauncher(Supplier<WebDriver> launcher, int depth) {
+        this.launcher = launcher;
+        this.depth = depth;
+        this.executor = Executors.newFixedThreadPool(depth, r -> {
+            Thread t = new Thread(r, "driver-prelaunch");
+            t.setDaemon(true);
+            return t;
+        });
+        topUp();
+        log.info("Driver pre-launch started: depth={}", depth);
+    }
+
+    //Take the oldest launch and immediately start its replacement
+    public WebDriver take() {
+        Future<WebDriver> next = launches.poll();
+        topUp();
+        if (next == null) {
+            return launcher.get();
+        }
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for pre-launched driver", e);
+        } catch (ExecutionException e) {
+            log.warn("Pre-launch failed, launching inline: {}", e.getCause().getMessage());
+            return launcher.get();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        Future<WebDriver> launch;
+        while ((launch = launches.poll()) != null) {
+            try {
+                DriverSessions.quit(launch.get(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS));
+            } catch (Exception ignored) { }
+        }
+    }
+
+    private synchronized void topUp() {
+        while (launches.size() < depth && !executor.isShutdown()) {
+            launches.add(executor.submit(launcher::get));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverSessions: single place where raw sessions are quit. Components that
+ * attach per-session resources (profile copies, counters...) register a
+ * cleanup that runs once the browser is gone.
+ */
+public class DriverSessions {
+
+    private static final Logger log = LogManager.getLogger(DriverSessions.class);
+
+    private static final Map<WebDriver, List<Runnable>> cleanups = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverSessions::runAllCleanups, "driver-sessions-cleanup"));
+    }
+
+    public static void onQuit(WebDriver driver, Runnable cleanup) {
+        cleanups.computeIfAbsent(driver, d -> new ArrayList<>()).add(cleanup);
+    }
+
+    //Quit the browser, never throwing, then release everything attached to it
+    public static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Quit failed: {}", e.getMessage());
+        }
+        runCleanups(cleanups.remove(driver));
+    }
+
+    private static void runAllCleanups() {
+        for (WebDriver driver : new ArrayList<>(cleanups.keySet())) {
+            runCleanups(cleanups.remove(driver));
+        }
+    }
+
+    private static void runCleanups(List<Runnable> pending) {
+        if (pending == null) {
+            return;
+        }
+        for (Runnable cleanup : pending) {
+            try {
+                cleanup.run();
+            } catch (Exception e) {
+                log.warn("Session cleanup failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package drivers;
 
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 
+import java.io.File;
+
 public class EdgeFactory extends Abstractdriver {
 
     private final boolean headless;
+    private final boolean bidi;
 
     public EdgeFactory(boolean headless) {
+        this(headless, false);
+    }
+
+    public EdgeFactory(boolean headless, boolean bidi) {
         this.headless = headless;
+        this.bidi = bidi;
     }
 
     private EdgeOptions getOptions() {
@@ -24,11 +34,46 @@ public class EdgeFactory extends Abstractdriver {
         if (headless)
             options.addArguments("--headless=new");
 
+        if (useProfileTemplate())
+            options.addArguments(ProfileTemplate.CHROMIUM_STARTUP_FLAGS);
+
+        options.setPageLoadStrategy(pageLoadStrategy());
+
+        if (bidi)
+            options.enableBiDi();
+
         return options;
     }
 
     @Override
     public WebDriver createDriver() {
-        return new EdgeDriver(getOptions());
+        EdgeOptions options = getOptions();
+        return withProfileCopy("chromium", profile -> {
+            if (profile != null)
+                options.addArguments("--user-data-dir=" + profile);
+            try {
+                return launch(options);
+            } catch (SessionNotCreatedException e) {
+                // cached driver may no longer match an updated browser; rediscover once
+                DriverBinaryResolver.invalidate(options);
+                return launch(options);
+            }
+        });
+    }
+
+    private WebDriver launch(EdgeOptions options) {
+        DriverBinaryResolver.Binaries binaries =
+                DriverBinaryResolver.resolve(EdgeDriverService.createDefaultService(), options);
+        if (binaries.browserPath() != null)
+            options.setBinary(binaries.browserPath());
+
+        EdgeDriverService service = new EdgeDriverService.Builder()
+                .usingDriverExecutable(new File(binaries.driverPath()))
+                .build();
+        WebDriver driver = new EdgeDriver(service, options);
+        SessionWatchdog.track(driver, service);
+        NetworkTracker.install(driver);
+        LeanNetworkProfile.installIfEnabled(driver);
+        return driver;
     }
 }
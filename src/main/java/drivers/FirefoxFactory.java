@@ -1,15 +1,25 @@
 package drivers;
 
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+
+import java.io.File;
 
 public class FirefoxFactory extends Abstractdriver {
 
     private final boolean headless;
+    private final boolean bidi;
 
     public FirefoxFactory(boolean headless) {
+        this(headless, false);
+    }
+
+    public FirefoxFactory(boolean headless, boolean bidi) {
         this.headless = headless;
+        this.bidi = bidi;
     }
 
     private FirefoxOptions getOptions() {
@@ -23,11 +33,42 @@ public class FirefoxFactory extends Abstractdriver {
         if (headless)
             options.addArguments("--headless");
 
+        options.setPageLoadStrategy(pageLoadStrategy());
+
+        if (bidi)
+            options.enableBiDi();
+
         return options;
     }
 
     @Override
     public WebDriver createDriver() {
-        return new FirefoxDriver(getOptions());
+        FirefoxOptions options = getOptions();
+        return withProfileCopy("firefox", profile -> {
+            if (profile != null)
+                options.addArguments("-profile", profile.toString());
+            try {
+                return launch(options);
+            } catch (SessionNotCreatedException e) {
+                // cached driver may no longer match an updated browser; rediscover once
+                DriverBinaryResolver.invalidate(options);
+                return launch(options);
+            }
+        });
+    }
+
+    private WebDriver launch(FirefoxOptions options) {
+        DriverBinaryResolver.Binaries binaries =
+                DriverBinaryResolver.resolve(GeckoDriverService.createDefaultService(), options);
+        if (binaries.browserPath() != null)
+            options.setBinary(binaries.browserPath());
+
+        GeckoDriverService service = new GeckoDriverService.Builder()
+                .usingDriverExecutable(new File(binaries.driverPath()))
+                .build();
+        WebDriver driver = new FirefoxDriver(service, options);
+        SessionWatchdog.track(driver, service);
+        NetworkTracker.install(driver);
+        return driver;
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import utils.EnvFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * LeanNetworkProfile: opt-in CDP Fetch interception for Chromium sessions.
+ * Requests matching the configured resource types or URL patterns are failed
+ * in the browser unless they match an allow pattern; blocked requests are
+ * counted per session so each test can report them.
+ */
+public class LeanNetworkProfile {
+
+    private static final Logger log = LogManager.getLogger(LeanNetworkProfile.class);
+
+    private static final Map<WebDriver, AtomicInteger> blocked = new ConcurrentHashMap<>();
+
+    public static void installIfEnabled(WebDriver driver) {
+        if (!EnvFactory.isLeanNetworkEnabled()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            log.warn("Lean network profile needs CDP, skipped for {}", driver.getClass().getSimpleName());
+            return;
+        }
+        install(driver, EnvFactory.getLeanNetworkBlockTypes(),
+                EnvFactory.getLeanNetworkBlockPatterns(), EnvFactory.getLeanNetworkAllowPatterns());
+    }
+
+    public static void install(WebDriver driver, List<String> resourceTypes,
+                               List<String> urlPatterns, List<String> allowPatterns) {
+        AtomicInteger counter = blocked.computeIfAbsent(driver, d -> new AtomicInteger());
+        DriverSessions.onQuit(driver, () -> blocked.remove(driver));
+        List<Pattern> allowed = allowPatterns.stream().map(LeanNetworkProfile::globToRegex).toList();
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : resourceTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        for (String url : urlPatterns) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(
+                new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                paused -> {
+                    Object requestId = paused.get("requestId");
+                    String url = String.valueOf(((Map<?, ?>) paused.get("request")).get("url"));
+                    if (allowed.stream().anyMatch(p -> p.matcher(url).matches())) {
+                        devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                    } else {
+                        counter.incrementAndGet();
+                        devTools.send(new Command<>("Fetch.failRequest",
+                                Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                    }
+                });
+        devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        log.info("Lean network profile active: types={}, patterns={}", resourceTypes, urlPatterns);
+    }
+
+    //Blocked requests since the last call, so a reused session reports per test
+    public static int takeBlockedCount(WebDriver driver) {
+        AtomicInteger counter = blocked.get(driver);
+        return counter == null ? 0 : counter.getAndSet(0);
+    }
+
+    //URL glob to regex: * matches any run of characters, everything else is literal
+    static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.split("\\*", -1)) {
+            if (!regex.isEmpty()) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
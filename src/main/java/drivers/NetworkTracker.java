@@ -0,0 +1,71 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Script;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.Map;
+
+/**
+ * NetworkTracker: counts fetch/XHR requests in flight for SettleWaiter's
+ * network-idle wait. Installed at launch to run at document start in every
+ * new document - a BiDi preload script where the session has BiDi, else a
+ * CDP new-document script on Chromium - so requests a page starts before the
+ * first wait, and after every navigation, are counted too. Sessions with
+ * neither (Firefox without BiDi) get the tracker from the first wait in each
+ * document instead, and cannot see requests already in flight at that point.
+ */
+public class NetworkTracker {
+
+    private static final Logger log = LogManager.getLogger(NetworkTracker.class);
+
+    //Function declaration; idempotent, so the wait can also run it in a document that lacks it
+    public static final String SOURCE = """
+            () => {
+              if (window.__swagNet) return;
+              const net = window.__swagNet = {inflight: 0, last: performance.now()};
+              const settle = () => { net.inflight = Math.max(0, net.inflight - 1); net.last = performance.now(); };
+              const fetch = window.fetch;
+              if (fetch) {
+                window.fetch = function () {
+                  net.inflight++;
+                  return fetch.apply(this, arguments).finally(settle);
+                };
+              }
+              const send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                net.inflight++;
+                this.addEventListener('loadend', settle, {once: true});
+                return send.apply(this, arguments);
+              };
+            }""";
+
+    public static void install(WebDriver driver) {
+        try {
+            if (driver instanceof HasBiDi bidi && bidi.maybeGetBiDi().isPresent()) {
+                // covers every browsing and user context, including ones created later
+                try (Script script = new Script(driver)) {
+                    script.addPreloadScript(SOURCE);
+                }
+                return;
+            }
+            if (driver instanceof HasDevTools) {
+                DevTools devTools = ((HasDevTools) driver).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument",
+                        Map.of("source", "(" + SOURCE + ")();")));
+                return;
+            }
+            log.debug("No BiDi or CDP on {}, network tracker installs on first wait",
+                    driver.getClass().getSimpleName());
+        } catch (Exception e) {
+            // the waits still work with the on-first-wait tracker
+            log.warn("Could not install network tracker at document start: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package drivers;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.EnvFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ProfileTemplate: builds a minimal, pre-initialised browser profile once per
+ * JVM and hands each session a cheap copy of it (in "profileDir" if set,
+ * else on tmpfs when it has room to spare), so browsers skip first-run,
+ * update, telemetry and component downloads.
+ */
+public class ProfileTemplate {
+
+    private static final Logger log = LogManager.getLogger(ProfileTemplate.class);
+
+    // free space /dev/shm needs before a copy goes there; it is 64 MB in a default Docker container
+    private static final long SHM_MIN_FREE_BYTES = 512L * 1024 * 1024;
+    private static final Path SHM = Path.of("/dev/shm");
+
+    // Marks profile copies on disk and in browser command lines
+    public static final String PREFIX = "swag-profile-";
+
+    public static final List<String> CHROMIUM_STARTUP_FLAGS = List.of(
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-component-update",
+            "--disable-background-networking",
+            "--disable-sync",
+            "--disable-default-apps",
+            "--disable-domain-reliability",
+            "--disable-client-side-phishing-detection",
+            "--disable-breakpad",
+            "--metrics-recording-only"
+    );
+
+    private static final String FIREFOX_USER_JS = """
+            user_pref("browser.shell.checkDefaultBrowser", false);
+            user_pref("browser.startup.homepage_override.mstone", "ignore");
+            user_pref("browser.startup.page", 0);
+            user_pref("startup.homepage_welcome_url", "about:blank");
+            user_pref("startup.homepage_welcome_url.additional", "");
+            user_pref("browser.aboutwelcome.enabled", false);
+            user_pref("browser.newtabpage.enabled", false);
+            user_pref("app.update.auto", false);
+            user_pref("app.update.checkInstallTime", false);
+            user_pref("app.normandy.enabled", false);
+            user_pref("extensions.update.enabled", false);
+            user_pref("extensions.getAddons.cache.enabled", false);
+            user_pref("datareporting.policy.dataSubmissionEnabled", false);
+            user_pref("datareporting.healthreport.uploadEnabled", false);
+            user_pref("toolkit.telemetry.enabled", false);
+            user_pref("toolkit.telemetry.unified", false);
+            user_pref("toolkit.telemetry.archive.enabled", false);
+            user_pref("media.gmp-manager.updateEnabled", false);
+            user_pref("browser.safebrowsing.malware.enabled", false);
+            user_pref("browser.safebrowsing.phishing.enabled", false);
+            user_pref("browser.safebrowsing.downloads.enabled", false);
+            user_pref("network.captive-portal-service.enabled", false);
+            user_pref("network.connectivity-service.enabled", false);
+            """;
+
+    private static final String CHROMIUM_PREFERENCES = """
+            {"browser": {"has_seen_welcome_page": true, "check_default_browser": false},
+             "distribution": {"skip_first_run_ui": true, "suppress_first_run_default_browser_prompt": true},
+             "credentials_enable_service": false,
+             "profile": {"password_manager_enabled": false}}
+            """;
+
+    private static final Map<String, Path> templates = new ConcurrentHashMap<>();
+
+    //Fresh per-session copy of the template for "firefox" or "chromium"
+    public static Path newSessionCopy(String kind) {
+        Path template = templates.computeIfAbsent(kind, ProfileTemplate::build);
+        try {
+            Path copy = Files.createTempDirectory(baseDir(), PREFIX + kind + "-");
+            FileUtils.copyDirectory(template.toFile(), copy.toFile());
+            return copy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to copy " + kind + " profile template", e);
+        }
+    }
+
+    public static void delete(Path copy) {
+        FileUtils.deleteQuietly(copy.toFile());
+    }
+
+    //HELPERS
+
+    private static Path build(String kind) {
+        try {
+            Path template = Files.createTempDirectory(baseDir(), PREFIX + kind + "-template-");
+            if (kind.equals("firefox")) {
+                Files.writeString(template.resolve("user.js"), FIREFOX_USER_JS);
+            } else {
+                Files.createFile(template.resolve("First Run"));
+                Files.createDirectories(template.resolve("Default"));
+                Files.writeString(template.resolve("Default").resolve("Preferences"), CHROMIUM_PREFERENCES);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(template), "profile-template-cleanup"));
+            log.info("Built {} profile template in {}", kind, template);
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build " + kind + " profile template", e);
+        }
+    }
+
+    // tmpfs keeps profile I/O off the disk on Linux agents, but Chrome also needs it for IPC and a
+    // full /dev/shm crashes renderers, so it is only used while it has room to spare
+    private static Path baseDir() throws IOException {
+        String configured = EnvFactory.getProfileDir();
+        if (configured != null && !configured.isBlank()) {
+            return Files.createDirectories(Path.of(configured));
+        }
+        if (Files.isDirectory(SHM) && Files.isWritable(SHM)
+                && Files.getFileStore(SHM).getUsableSpace() >= SHM_MIN_FREE_BYTES) {
+            return SHM;
+        }
+        return Path.of(System.getProperty("java.io.tmpdir"));
+    }
+}
@@ -0,0 +1,328 @@
+package drivers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import utils.EnvFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SessionWatchdog: remembers the driver process tree behind every session we
+ * launch and force-kills it when the session hangs, when the driver dies and
+ * leaves browsers behind, or when the JVM exits first. Orphans left by a
+ * previous crashed run are swept when the watchdog starts, but only
+ * processes provably launched by this framework: drivers recorded in the
+ * run file (pid + start time) and browsers on a profile-template copy.
+ */
+public class SessionWatchdog {
+
+    private static final Logger log = LogManager.getLogger(SessionWatchdog.class);
+    private static final long QUIT_GRACE_MILLIS = 2000;
+    // driver processes launched from this checkout, one "pid startMillis" per line
+    private static final Path RUN_FILE = Path.of(".cache", "session-watchdog.pids");
+
+    private static final Map<WebDriver, TrackedSession> sessions = new ConcurrentHashMap<>();
+    private static final AtomicInteger hungSessions = new AtomicInteger();
+    private static final AtomicInteger orphanedSessions = new AtomicInteger();
+    private static final AtomicInteger killedProcesses = new AtomicInteger();
+    private static ScheduledExecutorService scheduler;
+    private static ExecutorService probes;
+
+    //Start watching the session served by this driver service
+    public static void track(WebDriver driver, DriverService service) {
+        if (!EnvFactory.isWatchdogEnabled()) {
+            return;
+        }
+        start();
+        Optional<ProcessHandle> root = findServiceProcess(service.getUrl().getPort());
+        if (root.isEmpty()) {
+            log.warn("Watchdog could not find the driver process for {}", service.getUrl());
+            return;
+        }
+        TrackedSession session = new TrackedSession(driver, root.get());
+        session.snapshot();
+        recordDriver(root.get());
+        sessions.put(driver, session);
+        DriverSessions.onQuit(driver, () -> {
+            TrackedSession tracked = sessions.remove(driver);
+            if (tracked != null) {
+                tracked.reapAfterQuit();
+            }
+        });
+    }
+
+    //Resident memory of the session's live process tree, or -1 when not tracked/not on Linux
+    public static long residentBytes(WebDriver driver) {
+        TrackedSession session = sessions.get(driver);
+        if (session == null || !Files.isDirectory(Path.of("/proc/self"))) {
+            return -1;
+        }
+        if (session.root.isAlive()) {
+            session.snapshot();
+        }
+        long total = 0;
+        for (ProcessHandle process : session.known) {
+            if (process.isAlive()) {
+                total += residentBytes(process.pid());
+            }
+        }
+        return total;
+    }
+
+    public static String report() {
+        return String.format("hung sessions=%d, orphaned sessions=%d, processes killed=%d",
+                hungSessions.get(), orphanedSessions.get(), killedProcesses.get());
+    }
+
+    //HELPERS
+
+    private static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        sweepStaleOrphans();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "session-watchdog"));
+        probes = Executors.newCachedThreadPool(r -> daemon(r, "session-probe"));
+        long interval = EnvFactory.getWatchdogProbeIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(SessionWatchdog::probeAll, interval, interval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(SessionWatchdog::shutdown, "session-watchdog-shutdown"));
+        log.info("Session watchdog started: probe every {}s, hang timeout {}s",
+                interval, EnvFactory.getWatchdogHangTimeoutSeconds());
+    }
+
+    private static void probeAll() {
+        long hangMillis = TimeUnit.SECONDS.toMillis(EnvFactory.getWatchdogHangTimeoutSeconds());
+        for (TrackedSession session : sessions.values()) {
+            try {
+                session.probe(hangMillis);
+            } catch (Exception e) {
+                log.warn("Watchdog probe failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void shutdown() {
+        scheduler.shutdownNow();
+        probes.shutdownNow();
+        for (TrackedSession session : sessions.values()) {
+            if (session.root.isAlive()) {
+                session.snapshot();
+            }
+            session.killAll();
+        }
+        sessions.clear();
+        log.info("Session watchdog reclaimed: {}", report());
+    }
+
+    // The service was started with --port=<port>, which is unique on this host
+    private static Optional<ProcessHandle> findServiceProcess(int port) {
+        Pattern portArg = Pattern.compile("--port[= ]" + port + "\\b");
+        return ProcessHandle.current().children()
+                .filter(p -> p.info().commandLine().map(c -> portArg.matcher(c).find()).orElse(false))
+                .findFirst();
+    }
+
+    // Our drivers and profile-template browsers reparented to init belong to a dead run.
+    // A process whose parent cannot be read is left alone.
+    private static void sweepStaleOrphans() {
+        String user = ProcessHandle.current().info().user().orElse(null);
+        Set<String> recorded = takeRecordedDrivers();
+        Set<ProcessHandle> stale = ProcessHandle.allProcesses()
+                .filter(p -> p.parent().map(parent -> parent.pid() == 1).orElse(false))
+                .filter(p -> user != null && user.equals(p.info().user().orElse(null)))
+                .filter(p -> recorded.contains(runFileEntry(p)) || isTemplateBrowser(p))
+                .collect(Collectors.toSet());
+        int killed = 0;
+        for (ProcessHandle process : stale) {
+            killed += killTree(process);
+        }
+        if (killed > 0) {
+            log.warn("Watchdog killed {} processes left by a previous run", killed);
+        }
+    }
+
+    private static boolean isTemplateBrowser(ProcessHandle process) {
+        return process.info().commandLine().map(c -> c.contains(ProfileTemplate.PREFIX)).orElse(false);
+    }
+
+    // start time guards against the pid having been reused by an unrelated process
+    private static String runFileEntry(ProcessHandle process) {
+        return process.pid() + " " + process.info().startInstant().map(Instant::toEpochMilli).orElse(-1L);
+    }
+
+    private static void recordDriver(ProcessHandle driverProcess) {
+        withRunFile(channel -> {
+            channel.position(channel.size());
+            channel.write(ByteBuffer.wrap((runFileEntry(driverProcess) + "\n").getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+    }
+
+    // Entries of earlier runs; entries still alive under a live parent (another build) are kept in the file
+    private static Set<String> takeRecordedDrivers() {
+        Set<String> recorded = withRunFile(channel -> {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) { }
+            return new String(buffer.array(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isBlank())
+                    .collect(Collectors.toSet());
+        });
+        if (recorded == null) {
+            return Set.of();
+        }
+        Set<String> alive = ProcessHandle.allProcesses()
+                .map(SessionWatchdog::runFileEntry)
+                .filter(recorded::contains)
+                .collect(Collectors.toSet());
+        withRunFile(channel -> {
+            channel.truncate(0);
+            String kept = alive.stream().map(entry -> entry + "\n").collect(Collectors.joining());
+            channel.write(ByteBuffer.wrap(kept.getBytes(StandardCharsets.UTF_8)), 0);
+            return null;
+        });
+        return alive;
+    }
+
+    // parallel JVMs in the same checkout share the file, so every access holds its lock
+    private static <T> T withRunFile(RunFileAction<T> action) {
+        try {
+            Files.createDirectories(RUN_FILE.getParent());
+            try (FileChannel channel = FileChannel.open(RUN_FILE,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // released when the channel closes
+                channel.lock();
+                return action.apply(channel);
+            }
+        } catch (IOException e) {
+            log.warn("Watchdog run file {} unavailable: {}", RUN_FILE, e.getMessage());
+            return null;
+        }
+    }
+
+    private interface RunFileAction<T> {
+        T apply(FileChannel channel) throws IOException;
+    }
+
+    private static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) { }
+        return 0;
+    }
+
+    private static int killTree(ProcessHandle root) {
+        int killed = 0;
+        for (ProcessHandle process : root.descendants().toList()) {
+            killed += kill(process);
+        }
+        return killed + kill(root);
+    }
+
+    private static int kill(ProcessHandle process) {
+        if (process.isAlive() && process.destroyForcibly()) {
+            killedProcesses.incrementAndGet();
+            return 1;
+        }
+        return 0;
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static class TrackedSession {
+        private final WebDriver driver;
+        private final ProcessHandle root;
+        // Browsers are reparented when the driver dies, so remember them up front
+        private final Set<ProcessHandle> known = ConcurrentHashMap.newKeySet();
+        private volatile Future<?> pendingProbe;
+        private volatile long probeStarted;
+
+        TrackedSession(WebDriver driver, ProcessHandle root) {
+            this.driver = driver;
+            this.root = root;
+        }
+
+        void snapshot() {
+            known.add(root);
+            root.descendants().forEach(known::add);
+        }
+
+        void probe(long hangMillis) {
+            if (!root.isAlive()) {
+                sessions.remove(driver);
+                orphanedSessions.incrementAndGet();
+                log.warn("Driver process {} died, killed {} orphaned processes", root.pid(), killAll());
+                return;
+            }
+            snapshot();
+            if (pendingProbe != null && !pendingProbe.isDone()) {
+                if (System.currentTimeMillis() - probeStarted > hangMillis) {
+                    sessions.remove(driver);
+                    hungSessions.incrementAndGet();
+                    log.warn("Session on driver process {} unresponsive for {} ms, killed {} processes",
+                            root.pid(), hangMillis, killAll());
+                }
+                return;
+            }
+            probeStarted = System.currentTimeMillis();
+            // Any reply, even an error, proves the driver and browser still answer
+            pendingProbe = probes.submit(() -> {
+                try {
+                    driver.getWindowHandle();
+                } catch (Exception ignored) { }
+            });
+        }
+
+        //After a normal quit the tree should exit by itself; kill what lingers
+        void reapAfterQuit() {
+            if (root.isAlive()) {
+                snapshot();
+            }
+            long deadline = System.currentTimeMillis() + QUIT_GRACE_MILLIS;
+            for (ProcessHandle process : known) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    process.onExit().get(remaining, TimeUnit.MILLISECONDS);
+                } catch (Exception ignored) { }
+            }
+            int killed = killAll();
+            if (killed > 0) {
+                log.warn("Killed {} processes that outlived quit of driver process {}", killed, root.pid());
+            }
+        }
+
+        int killAll() {
+            int killed = 0;
+            for (ProcessHandle process : known) {
+                killed += kill(process);
+            }
+            return killed;
+        }
+    }
+}
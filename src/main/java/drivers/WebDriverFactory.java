@@ -1,41 +1,175 @@
 package drivers;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.openqa.selenium.support.ThreadGuard;
 import utils.EnvFactory;
 
+import java.util.HashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 public class WebDriverFactory {
 
+    private static final Logger log = LogManager.getLogger(WebDriverFactory.class);
+
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<WebDriver> sessionThreadLocal = new ThreadLocal<>();
+    private static ThreadLocal<WebDriver> unguardedThreadLocal = new ThreadLocal<>();
+    private static DriverPool pool;
+    private static DriverPrelauncher prelauncher;
+    private static BrowserContextHost contextHost;
+    private static AdmissionController admission;
+    private static final Map<String, LongSummaryStatistics> startupTimes = new HashMap<>();
 
-    private static Abstractdriver getDriverFactory(String browser, boolean headless) {
+    private static Abstractdriver getDriverFactory(String browser, boolean headless, boolean bidi) {
         return switch (browser.toLowerCase()) {
-            case "chrome" -> new ChromeFactory(headless);
-            case "edge" -> new EdgeFactory(headless);
-            case "firefox" -> new FirefoxFactory(headless);
+            case "chrome" -> new ChromeFactory(headless, bidi);
+            case "edge" -> new EdgeFactory(headless, bidi);
+            case "firefox" -> new FirefoxFactory(headless, bidi);
             default -> throw new IllegalArgumentException("Unsupported browser: " + browser);
         };
     }
 
-    public static WebDriver initdriver() {
+    private static WebDriver launchDriver() {
+        return launchDriver(false);
+    }
+
+    private static WebDriver launchDriver(boolean bidi) {
         String browser = EnvFactory.getBrowser();
         boolean headless = EnvFactory.isHeadless();
-        WebDriver created = ThreadGuard.protect(
-                getDriverFactory(browser, headless).createDriver()
-        );
+        Abstractdriver factory = getDriverFactory(browser, headless, bidi);
+
+        long start = System.nanoTime();
+        WebDriver driver = factory.createDriver();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LongSummaryStatistics stats = recordStartup(factory.getClass().getSimpleName(), millis);
+        log.info("{} started in {} ms (avg {} ms over {} launches)",
+                factory.getClass().getSimpleName(), millis, Math.round(stats.getAverage()), stats.getCount());
+        return driver;
+    }
+
+    private static synchronized LongSummaryStatistics recordStartup(String factory, long millis) {
+        LongSummaryStatistics stats = startupTimes.computeIfAbsent(factory, f -> new LongSummaryStatistics());
+        stats.accept(millis);
+        // copy so the caller reads a consistent snapshot outside the lock
+        LongSummaryStatistics snapshot = new LongSummaryStatistics();
+        snapshot.combine(stats);
+        return snapshot;
+    }
+
+    private static synchronized DriverPool getPool() {
+        if (pool == null) {
+            pool = new DriverPool(WebDriverFactory::launchDriver,
+                    EnvFactory.getPoolSize(), EnvFactory.getPoolMaxReuse(), EnvFactory.getBaseUrl());
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "driver-pool-shutdown"));
+        }
+        return pool;
+    }
+
+    private static synchronized DriverPrelauncher getPrelauncher() {
+        if (prelauncher == null) {
+            prelauncher = new DriverPrelauncher(WebDriverFactory::launchDriver, EnvFactory.getPrelaunchDepth());
+            Runtime.getRuntime().addShutdownHook(new Thread(prelauncher::shutdown, "driver-prelaunch-shutdown"));
+        }
+        return prelauncher;
+    }
+
+    private static synchronized BrowserContextHost getContextHost() {
+        if (contextHost == null) {
+            contextHost = new BrowserContextHost(() -> launchDriver(true));
+            Runtime.getRuntime().addShutdownHook(new Thread(contextHost::shutdown, "context-host-shutdown"));
+        }
+        return contextHost;
+    }
+
+    private static synchronized AdmissionController getAdmission() {
+        if (admission == null) {
+            admission = new AdmissionController(EnvFactory.getAdmissionMaxSessions(),
+                    EnvFactory.getAdmissionReserveMb(), EnvFactory.getAdmissionMaxCpuLoad(),
+                    EnvFactory.getAdmissionDefaultFootprintMb(), EnvFactory.getAdmissionMaxWaitSeconds());
+        }
+        return admission;
+    }
+
+    private static boolean isContextIsolation() {
+        return EnvFactory.getIsolation().equalsIgnoreCase("context");
+    }
+
+    private static WebDriver acquireSession() {
+        if (isContextIsolation()) {
+            return getContextHost().newContext();
+        }
+        if (EnvFactory.isPoolEnabled()) {
+            return getPool().lease();
+        }
+        if (EnvFactory.getPrelaunchDepth() > 0) {
+            return getPrelauncher().take();
+        }
+        return launchDriver();
+    }
+
+    public static WebDriver initdriver() {
+        WebDriver session = admitAndAcquire();
+        WebDriver instrumented = EnvFactory.isCommandMetricsEnabled()
+                ? new EventFiringDecorator<>(CommandMetrics.get()).decorate(session)
+                : session;
+        // guard binds to the calling thread, so shared/pooled/pre-launched sessions belong to the test that takes them
+        WebDriver created = ThreadGuard.protect(instrumented);
+        sessionThreadLocal.set(session);
+        unguardedThreadLocal.set(instrumented);
         driverThreadLocal.set(created);
         return driverThreadLocal.get();
     }
 
+    private static WebDriver admitAndAcquire() {
+        if (!EnvFactory.isAdmissionEnabled()) {
+            return acquireSession();
+        }
+        getAdmission().acquire();
+        try {
+            WebDriver session = acquireSession();
+            getAdmission().started();
+            return session;
+        } catch (RuntimeException e) {
+            getAdmission().started();
+            getAdmission().release(-1);
+            throw e;
+        }
+    }
+
     public static WebDriver getDriver() {
         return driverThreadLocal.get();
     }
 
+    // Same session without the thread guard, for waits that poll from their own (virtual) threads
+    public static WebDriver getUnguardedDriver() {
+        return unguardedThreadLocal.get();
+    }
+
     public static void quitdriver() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            driver.quit();
+        WebDriver session = sessionThreadLocal.get();
+        if (session != null) {
+            int blocked = LeanNetworkProfile.takeBlockedCount(session);
+            if (blocked > 0) {
+                log.info("Lean network blocked {} requests in this test", blocked);
+            }
+            // measure before quitting so the footprint reflects a browser that ran a test
+            long resident = EnvFactory.isAdmissionEnabled() ? SessionWatchdog.residentBytes(session) : -1;
+            if (!isContextIsolation() && EnvFactory.isPoolEnabled()) {
+                getPool().release(session);
+            } else {
+                DriverSessions.quit(session);
+            }
+            if (EnvFactory.isAdmissionEnabled()) {
+                getAdmission().release(resident);
+            }
+            sessionThreadLocal.remove();
+            unguardedThreadLocal.remove();
             driverThreadLocal.remove();
         }
     }
-}
\ No newline at end of file
+}
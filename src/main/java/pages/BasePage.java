@@ -1,27 +1,65 @@
 package pages;
 
 import bots.ActionsBot;
+import bots.AsyncWaits;
+import bots.BulkExtractor;
+import bots.DriverRegistry;
+import bots.ElementCache;
 import bots.Waitsbot;
+import drivers.WebDriverFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 
+import java.util.function.Function;
+
 public abstract class BasePage<T extends BasePage<T>> {
 
     protected final WebDriver driver;
     protected final ActionsBot actionsbot;
     protected final Waitsbot waitsbot;
+    protected final BulkExtractor extractor;
     protected final Logger log = LogManager.getLogger(getClass());
+    // element that proves the page is usable; null = a parsed document is enough
+    private final By anchor;
 
     private final By CART_BADGE = By.className("shopping_cart_badge");
     private final By CART_ICON = By.className("shopping_cart_link");
 
-    protected BasePage(WebDriver driver) {
+    protected BasePage(WebDriver driver, By anchor) {
         this.driver = driver;
-        this.actionsbot = new ActionsBot(driver);
-        this.waitsbot = new Waitsbot(driver);
+        this.anchor = anchor;
+        DriverRegistry registry = DriverRegistry.of(driver);
+        this.actionsbot = registry.actions();
+        this.waitsbot = registry.waits();
+        this.extractor = registry.extractor();
+        arrive();
+    }
+
+    //The driver's page object of this type, reused if it exists; either way the page is ready when it returns
+    public static <P extends BasePage<P>> P open(WebDriver driver, Class<P> type, Function<WebDriver, P> constructor) {
+        P existing = DriverRegistry.of(driver).find(type);
+        if (existing != null) {
+            existing.arrive();
+            return existing;
+        }
+        return DriverRegistry.of(driver).get(type, constructor);
+    }
+
+    // a new document: nothing cached before it is valid, and it must be usable first
+    final void arrive() {
+        ElementCache.of(driver).invalidateAll();
+        DriverRegistry.of(driver).readiness().waitUntilReady(anchor);
+    }
+
+    // Waits that can be raced; polled off the test thread, so they need the unguarded session
+    protected AsyncWaits asyncWaits() {
+        return DriverRegistry.of(driver).get(AsyncWaits.class, d -> {
+            WebDriver unguarded = WebDriverFactory.getUnguardedDriver();
+            return new AsyncWaits(unguarded != null ? unguarded : d);
+        });
     }
 
     // SAFE logging method
@@ -32,7 +70,7 @@ public abstract class BasePage<T extends BasePage<T>> {
     public CartPage goToCart() {
         logInfo("Navigating to Cart page");
         actionsbot.click(CART_ICON);
-        return new CartPage(driver);
+        return open(driver, CartPage.class, CartPage::new);
     }
 
     public int getCartBadgeCount() {
@@ -1,5 +1,6 @@
 package pages;
 
+import bots.DriverRegistry;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -11,14 +12,15 @@ public class CartPage extends BasePage<CartPage> {
     private final CartComponent cart;
 
     // LOCATORS
+    private static final By ANCHOR = By.id("checkout");
     private final By cartTitle = By.className("title");
     private final By checkoutButton = By.id("checkout");
     private final By continueShoppingButton = By.id("continue-shopping");
 
     // CONSTRUCTOR
     public CartPage(WebDriver driver) {
-        super(driver);
-        this.cart = new CartComponent(driver);
+        super(driver, ANCHOR);
+        this.cart = DriverRegistry.of(driver).get(CartComponent.class, CartComponent::new);
     }
 
     // ASSERTIONS
@@ -93,7 +95,7 @@ public class CartPage extends BasePage<CartPage> {
         log.info("Clicking checkout button");
         actionsbot.click(checkoutButton);
         log.info("Navigated to checkout page");
-        return new CheckoutPage(driver);
+        return open(driver, CheckoutPage.class, CheckoutPage::new);
     }
 
     @Step("Click 'Continue Shopping' button")
@@ -101,6 +103,6 @@ public class CartPage extends BasePage<CartPage> {
         log.info("Clicking continue shopping button");
         actionsbot.click(continueShoppingButton);
         log.info("Navigated back to products page");
-        return new ProductsPage(driver);
+        return open(driver, ProductsPage.class, ProductsPage::new);
     }
 }
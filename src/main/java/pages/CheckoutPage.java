@@ -1,14 +1,21 @@
 package pages;
 
+import bots.BulkExtractor.Field;
+import bots.ElementCache;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.testng.Assert;
+import pages.components.CheckoutSummary;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class CheckoutPage extends BasePage<CheckoutPage> {
 
     //LOCATORS
+    private static final By ANCHOR = By.id("first-name");
     private final By title = By.className("title");
 
     private final By firstNameField = By.id("first-name");
@@ -25,10 +32,20 @@ public class CheckoutPage extends BasePage<CheckoutPage> {
     private final By taxLabel = By.cssSelector(".summary_tax_label");
     private final By totalLabel = By.cssSelector(".summary_total_label");
     private final By itemPrices = By.cssSelector(".inventory_item_price");
+    private final By summaryInfo = By.className("summary_info");
+    private final By cartItems = By.className("cart_item");
+    private final By itemName = By.className("inventory_item_name");
+    private final By itemQuantity = By.className("cart_quantity");
+
+    //CONSTANTS
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+
+    private CheckoutSummary summary;
+    private long summaryEpoch;
 
     //CONSTRUCTOR
     public CheckoutPage(WebDriver driver) {
-        super(driver);
+        super(driver, ANCHOR);
     }
 
     //ASSERTIONS - PAGE VERIFICATION
@@ -72,30 +89,32 @@ public class CheckoutPage extends BasePage<CheckoutPage> {
     @Step("Verify item subtotal is correct")
     public CheckoutPage assertItemTotalCorrect() {
         log.info("Validating item subtotal...");
-        double expected = getSumOfItemPrices();
-        double displayed = getDisplayedItemTotal();
-        log.info("Expected subtotal: " + expected + " | Displayed: " + displayed);
-        Assert.assertEquals(displayed, expected, "Item total mismatch");
+        CheckoutSummary summary = summary();
+        BigDecimal expected = summary.sumOfItems();
+        log.info("Expected subtotal: " + expected + " | Displayed: " + summary.subtotal());
+        Assert.assertEquals(summary.subtotal().compareTo(expected), 0,
+                "Item total mismatch: expected " + expected + " but found " + summary.subtotal());
         return this;
     }
 
     @Step("Verify tax calculation is correct")
     public CheckoutPage assertTaxCorrect() {
         log.info("Validating tax value...");
-        double expectedTax = getDisplayedItemTotal() * 0.08;
-        double displayedTax = getDisplayedTax();
-        log.info("Expected tax: " + expectedTax + " | Displayed: " + displayedTax);
-        Assert.assertEquals(displayedTax, expectedTax, 0.01, "Tax mismatch");
+        CheckoutSummary summary = summary();
+        log.info("Expected tax: " + summary.expectedTax(TAX_RATE) + " | Displayed: " + summary.tax());
+        Assert.assertTrue(summary.taxMatches(TAX_RATE),
+                "Tax mismatch: expected " + summary.expectedTax(TAX_RATE) + " but found " + summary.tax());
         return this;
     }
 
     @Step("Verify final total is correct")
     public CheckoutPage assertTotalCorrect() {
         log.info("Validating final total...");
-        double expectedTotal = getDisplayedItemTotal() + getDisplayedTax();
-        double displayedTotal = getDisplayedTotal();
-        log.info("Expected total: " + expectedTotal + " | Displayed: " + displayedTotal);
-        Assert.assertEquals(displayedTotal, expectedTotal, 0.01, "Final Total mismatch");
+        CheckoutSummary summary = summary();
+        BigDecimal expectedTotal = summary.expectedTotal();
+        log.info("Expected total: " + expectedTotal + " | Displayed: " + summary.total());
+        Assert.assertEquals(summary.total().compareTo(expectedTotal), 0,
+                "Final Total mismatch: expected " + expectedTotal + " but found " + summary.total());
         return this;
     }
 
@@ -140,10 +159,15 @@ public class CheckoutPage extends BasePage<CheckoutPage> {
     @Step("Fill checkout information - {fn},{ln},{pc}")
     public CheckoutPage fillInformation(String fn, String ln, String pc) {
         log.info("Filling checkout form: " + fn + " " + ln + " (" + pc + ")");
-        return enterFirstName(fn)
-                .enterLastName(ln)
-                .enterPostalCode(pc)
-                .clickContinue();
+        Map<By, String> form = new LinkedHashMap<>();
+        form.put(firstNameField, fn);
+        form.put(lastNameField, ln);
+        form.put(postalCodeField, pc);
+        actionsbot.batch()
+                .fill(form)
+                .click(continueButton)
+                .run();
+        return this;
     }
 
     @Step("Click 'Finish' button")
@@ -168,35 +192,35 @@ public class CheckoutPage extends BasePage<CheckoutPage> {
     public ProductsPage backHome() {
         log.info("Navigating back to products page");
         actionsbot.click(backHomeButton);
-        return new ProductsPage(driver);
+        return open(driver, ProductsPage.class, ProductsPage::new);
     }
 
     //PRICE HELPERS
 
-    private double extractNumber(String text) {
-        return Double.parseDouble(text.replaceAll("[^0-9.]", ""));
-    }
-
-    private double getDisplayedItemTotal() {
-        return extractNumber(actionsbot.getText(itemTotalLabel));
-    }
-
-    private double getDisplayedTax() {
-        return extractNumber(actionsbot.getText(taxLabel));
-    }
-
-    private double getDisplayedTotal() {
-        return extractNumber(actionsbot.getText(totalLabel));
+    //Line items and totals of the overview, read once per page state
+    public CheckoutSummary summary() {
+        long epoch = ElementCache.of(driver).epoch();
+        if (summary == null || summaryEpoch != epoch) {
+            // the overview renders after the Continue click returns
+            waitsbot.waitForVisibility(totalLabel);
+            summary = new CheckoutSummary(
+                    extractor.rows(cartItems, CheckoutSummary.LineItem.class,
+                            Field.text("name", itemName),
+                            Field.text("quantity", itemQuantity),
+                            Field.text("price", itemPrices)),
+                    extractor.rows(summaryInfo, CheckoutSummary.Totals.class,
+                            Field.text("subtotal", itemTotalLabel),
+                            Field.text("tax", taxLabel),
+                            Field.text("total", totalLabel)).get(0));
+            summaryEpoch = epoch;
+            log.info("Captured checkout summary: " + summary.items().size() + " items, total " + summary.total());
+        }
+        return summary;
     }
 
     @Step("Calculate sum of all item prices")
-    public double getSumOfItemPrices() {
-        double sum = driver.findElements(itemPrices)
-                .stream()
-                .map(WebElement::getText)
-                .map(this::extractNumber)
-                .reduce(0.0, Double::sum);
-
+    public BigDecimal getSumOfItemPrices() {
+        BigDecimal sum = summary().sumOfItems();
         log.info("Calculated sum of item prices: " + sum);
         return sum;
     }
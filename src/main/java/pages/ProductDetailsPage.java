@@ -8,6 +8,7 @@ import org.testng.Assert;
 public class ProductDetailsPage extends BasePage<ProductDetailsPage> {
 
     // LOCATORS
+    private static final By ANCHOR = By.className("inventory_details_name");
     private final By TITLE = By.className("inventory_details_name");
     private final By DESCRIPTION = By.className("inventory_details_desc");
     private final By PRICE = By.className("inventory_details_price");
@@ -17,7 +18,7 @@ public class ProductDetailsPage extends BasePage<ProductDetailsPage> {
 
     // CONSTRUCTOR
     public ProductDetailsPage(WebDriver driver) {
-        super(driver);
+        super(driver, ANCHOR);
     }
 
     // ASSERTIONS
@@ -82,6 +83,6 @@ public class ProductDetailsPage extends BasePage<ProductDetailsPage> {
         log.info("Navigating back to products page");
         actionsbot.click(BACK_BUTTON);
         log.info("Returned to products page");
-        return new ProductsPage(driver);
+        return open(driver, ProductsPage.class, ProductsPage::new);
     }
 }
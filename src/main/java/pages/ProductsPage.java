@@ -1,5 +1,8 @@
 package pages;
 
+import bots.ActionBatch;
+import bots.BulkExtractor.Field;
+import bots.ElementCache;
 import io.qameta.allure.Step;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,7 +12,9 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
 import org.testng.Assert;
+import pages.components.InventorySnapshot;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -18,10 +23,16 @@ public class ProductsPage extends BasePage<ProductsPage> {
 
 
     //LOCATORS
+    private static final By ANCHOR = By.className("product_sort_container");
     private final By productsTitle = By.className("title");
     private static final By PRODUCT_NAMES = By.className("inventory_item_name");
     private static final By PRODUCT_IMAGES = By.xpath("//div[@class='inventory_item_img']/a/img");
     private static final By PRODUCT_PRICES = By.className("inventory_item_price");
+    private static final By INVENTORY_ITEMS = By.className("inventory_item");
+    private static final By ITEM_DESCRIPTION = By.className("inventory_item_desc");
+    private static final By ITEM_IMAGE = By.cssSelector(".inventory_item_img img");
+    private static final By ITEM_BUTTON = By.cssSelector(".pricebar button");
+    private static final By ITEM_REMOVE_BUTTON = By.cssSelector(".pricebar button[id^='remove']");
     private static final By SORT_DROPDOWN = By.className("product_sort_container");
 
     //PRODUCT BUTTON IDs
@@ -49,9 +60,12 @@ public class ProductsPage extends BasePage<ProductsPage> {
             REMOVE_JACKET_ID, REMOVE_ONESIE_ID, REMOVE_RED_TSHIRT_ID
     };
 
+    private InventorySnapshot snapshot;
+    private long snapshotEpoch;
+
     //CONSTRUCTOR
     public ProductsPage(WebDriver driver) {
-        super(driver);
+        super(driver, ANCHOR);
         log.info("Navigated to Products Page");
     }
 
@@ -70,7 +84,7 @@ public class ProductsPage extends BasePage<ProductsPage> {
     @Step("Verify products are sorted by name A to Z")
     public ProductsPage assertSortedByNameAscending() {
         log.info("Verifying products sorted A to Z");
-        List<String> uiNames = getProductNames();
+        List<String> uiNames = inventory().names();
         List<String> sorted = new ArrayList<>(uiNames);
         Collections.sort(sorted);
 
@@ -82,7 +96,7 @@ public class ProductsPage extends BasePage<ProductsPage> {
     @Step("Verify products are sorted by name Z to A")
     public ProductsPage assertSortedByNameDescending() {
         log.info("Verifying products sorted Z to A");
-        List<String> uiNames = getProductNames();
+        List<String> uiNames = inventory().names();
         List<String> sorted = new ArrayList<>(uiNames);
         sorted.sort(Collections.reverseOrder());
 
@@ -94,8 +108,8 @@ public class ProductsPage extends BasePage<ProductsPage> {
     @Step("Verify products are sorted by price Low to High")
     public ProductsPage assertSortedByPriceAscending() {
         log.info("Verifying products sorted by price Low to High");
-        List<Double> ui = getProductPrices();
-        List<Double> sorted = new ArrayList<>(ui);
+        List<BigDecimal> ui = inventory().prices();
+        List<BigDecimal> sorted = new ArrayList<>(ui);
         Collections.sort(sorted);
 
         Assert.assertEquals(ui, sorted, "Prices NOT sorted Low -> High");
@@ -106,8 +120,8 @@ public class ProductsPage extends BasePage<ProductsPage> {
     @Step("Verify products are sorted by price High to Low")
     public ProductsPage assertSortedByPriceDescending() {
         log.info("Verifying products sorted by price High to Low");
-        List<Double> ui = getProductPrices();
-        List<Double> sorted = new ArrayList<>(ui);
+        List<BigDecimal> ui = inventory().prices();
+        List<BigDecimal> sorted = new ArrayList<>(ui);
         sorted.sort(Collections.reverseOrder());
 
         Assert.assertEquals(ui, sorted, "Prices NOT sorted High -> Low");
@@ -134,9 +148,11 @@ public class ProductsPage extends BasePage<ProductsPage> {
     @Step("Add all products to cart (6 items)")
     public ProductsPage addAllItems() {
         log.info("Adding all {} items to cart", ALL_ADD_BUTTONS.length);
+        ActionBatch batch = actionsbot.batch();
         for (String id : ALL_ADD_BUTTONS) {
-            actionsbot.click(By.id(id));
+            batch.click(By.id(id));
         }
+        batch.run();
         log.info("All items added to cart");
         return this;
     }
@@ -144,9 +160,11 @@ public class ProductsPage extends BasePage<ProductsPage> {
     @Step("Remove all products from cart")
     public ProductsPage removeAllItems() {
         log.info("Removing all {} items from cart", ALL_REMOVE_BUTTONS.length);
+        ActionBatch batch = actionsbot.batch();
         for (String id : ALL_REMOVE_BUTTONS) {
-            actionsbot.click(By.id(id));
+            batch.click(By.id(id));
         }
+        batch.run();
         log.info("All items removed from cart");
         return this;
     }
@@ -157,6 +175,7 @@ public class ProductsPage extends BasePage<ProductsPage> {
         log.info("Sorting products by: {}", visibleText);
         WebElement dropdown = driver.findElement(SORT_DROPDOWN);
         new Select(dropdown).selectByVisibleText(visibleText);
+        ElementCache.of(driver).invalidateAll();
         return this;
     }
 
@@ -186,7 +205,7 @@ public class ProductsPage extends BasePage<ProductsPage> {
     public ProductDetailsPage openProductByName(String name) {
         log.info("Opening product by name: {}", name);
         driver.findElement(By.linkText(name)).click();
-        return new ProductDetailsPage(driver);
+        return open(driver, ProductDetailsPage.class, ProductDetailsPage::new);
     }
 
     @Step("Open product by image index: {index}")
@@ -196,43 +215,39 @@ public class ProductsPage extends BasePage<ProductsPage> {
         WebElement targetImage = images.get(index);
 
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", targetImage);
-
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // a smooth scroll or hover transition would move the image under the click
+        waitsbot.waitForAnimationsToSettle(targetImage);
         targetImage.click();
 
-        return new ProductDetailsPage(driver);
+        return open(driver, ProductDetailsPage.class, ProductDetailsPage::new);
     }
 
     //GETTERS
 
     @Step("Get all product names from page")
     public List<String> getAllProductNames() {
-        return driver.findElements(PRODUCT_NAMES)
-                .stream()
-                .map(WebElement::getText)
-                .toList();
+        return inventory().names();
+    }
+
+    //Every item in one DOM read; retaken once a cart/sort action or navigation has changed the page
+    public InventorySnapshot inventory() {
+        long epoch = ElementCache.of(driver).epoch();
+        if (snapshot == null || snapshotEpoch != epoch) {
+            snapshot = new InventorySnapshot(extractor.rows(INVENTORY_ITEMS, InventorySnapshot.Item.class,
+                    Field.text("name", PRODUCT_NAMES),
+                    Field.text("price", PRODUCT_PRICES),
+                    Field.text("description", ITEM_DESCRIPTION),
+                    Field.attribute("imageSrc", ITEM_IMAGE, "src"),
+                    Field.attribute("buttonId", ITEM_BUTTON, "id"),
+                    Field.text("inCart", ITEM_REMOVE_BUTTON)));
+            snapshotEpoch = epoch;
+            log.info("Captured inventory snapshot of {} items", snapshot.items().size());
+        }
+        return snapshot;
     }
 
     @Step("Get all product images from page")
     public List<WebElement> getAllProductImages() {
         return driver.findElements(PRODUCT_IMAGES);
     }
-
-    private List<String> getProductNames() {
-        return driver.findElements(PRODUCT_NAMES)
-                .stream()
-                .map(WebElement::getText)
-                .toList();
-    }
-
-    private List<Double> getProductPrices() {
-        return driver.findElements(PRODUCT_PRICES)
-                .stream()
-                .map(e -> Double.parseDouble(e.getText().replace("$", "")))
-                .toList();
-    }
 }
\ No newline at end of file
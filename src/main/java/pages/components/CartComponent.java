@@ -1,6 +1,9 @@
 package pages.components;
 
 import bots.ActionsBot;
+import bots.BulkExtractor;
+import bots.DriverRegistry;
+import bots.BulkExtractor.Field;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -13,6 +16,7 @@ public class CartComponent {
 
     private final WebDriver driver;
     private final ActionsBot actions;
+    private final BulkExtractor extractor;
 
     //LOCATORS
     private final By cartItems = By.cssSelector(".cart_item");
@@ -21,9 +25,12 @@ public class CartComponent {
     private final By itemPrice = By.className("inventory_item_price");
     private final By removeButton = By.cssSelector("button[id^='remove']");
 
+    private record CartRow(String name, String price) { }
+
     public CartComponent(WebDriver driver) {
         this.driver = driver;
-        this.actions = new ActionsBot(driver);
+        this.actions = DriverRegistry.of(driver).actions();
+        this.extractor = DriverRegistry.of(driver).extractor();
     }
 
     //HELPERS
@@ -36,15 +43,21 @@ public class CartComponent {
         return getAllItems().size();
     }
 
+    //Name and price of every cart row in one call
+    private List<CartRow> getRows() {
+        return extractor.rows(cartItems, CartRow.class,
+                Field.text("name", itemName), Field.text("price", itemPrice));
+    }
+
     public List<String> getItemNames() {
-        return getAllItems().stream()
-                .map(i -> i.findElement(itemName).getText().trim())
+        return getRows().stream()
+                .map(CartRow::name)
                 .collect(Collectors.toList());
     }
 
     public List<String> getItemPrices() {
-        return getAllItems().stream()
-                .map(i -> i.findElement(itemPrice).getText().trim())
+        return getRows().stream()
+                .map(CartRow::price)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,52 @@
+package pages.components;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * CheckoutSummary: the checkout overview as read in one extraction - line
+ * items plus the displayed subtotal, tax and total - so price checks run
+ * in memory with exact decimal arithmetic.
+ */
+public record CheckoutSummary(List<LineItem> items, BigDecimal subtotal, BigDecimal tax, BigDecimal total) {
+
+    // the app rounds tax itself; any correct rounding lands within half a cent of the exact value
+    private static final BigDecimal HALF_CENT = new BigDecimal("0.005");
+
+    public record LineItem(String name, int quantity, BigDecimal price) {
+
+        public BigDecimal amount() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+
+    //The three summary labels, read as one row
+    public record Totals(BigDecimal subtotal, BigDecimal tax, BigDecimal total) { }
+
+    public CheckoutSummary {
+        items = List.copyOf(items);
+    }
+
+    public CheckoutSummary(List<LineItem> items, Totals totals) {
+        this(items, totals.subtotal(), totals.tax(), totals.total());
+    }
+
+    public BigDecimal sumOfItems() {
+        return items.stream().map(LineItem::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    //Tax at the given rate on the displayed subtotal, to the cent
+    public BigDecimal expectedTax(BigDecimal rate) {
+        return subtotal.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    //Displayed tax equals the exact tax at the rate, whichever way the app rounded it
+    public boolean taxMatches(BigDecimal rate) {
+        return tax.subtract(subtotal.multiply(rate)).abs().compareTo(HALF_CENT) <= 0;
+    }
+
+    public BigDecimal expectedTotal() {
+        return subtotal.add(tax);
+    }
+}
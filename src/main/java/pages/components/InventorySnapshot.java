@@ -0,0 +1,38 @@
+package pages.components;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * InventorySnapshot: every inventory item as read in one DOM pass. It is
+ * immutable; ProductsPage takes a new one once a cart or sort action (or
+ * navigation) has changed the page, and answers getters and assertions
+ * from it in between.
+ */
+public record InventorySnapshot(List<Item> items) {
+
+    //inCart: the item shows a Remove button instead of Add to cart
+    public record Item(String name, BigDecimal price, String description, String imageSrc,
+                       String buttonId, boolean inCart) { }
+
+    public InventorySnapshot {
+        items = List.copyOf(items);
+    }
+
+    public List<String> names() {
+        return items.stream().map(Item::name).toList();
+    }
+
+    public List<BigDecimal> prices() {
+        return items.stream().map(Item::price).toList();
+    }
+
+    public Optional<Item> item(String name) {
+        return items.stream().filter(i -> i.name().equals(name)).findFirst();
+    }
+
+    public int inCartCount() {
+        return (int) items.stream().filter(Item::inCart).count();
+    }
+}
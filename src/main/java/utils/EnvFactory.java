@@ -5,6 +5,7 @@ import com.google.gson.stream.JsonReader;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.List;
 
 public class EnvFactory {
 
@@ -50,6 +51,126 @@ public class EnvFactory {
         return config.timeouts.pageLoad;
     }
 
+    public static String getPageLoadStrategy() {
+        return config.pageLoadStrategy;
+    }
+
+    public static boolean isProfileTemplateEnabled() {
+        return config.profileTemplate;
+    }
+
+    public static boolean isLeanNetworkEnabled() {
+        return config.leanNetwork.enabled;
+    }
+
+    public static List<String> getLeanNetworkBlockTypes() {
+        return config.leanNetwork.blockTypes;
+    }
+
+    public static List<String> getLeanNetworkBlockPatterns() {
+        return config.leanNetwork.blockPatterns;
+    }
+
+    public static List<String> getLeanNetworkAllowPatterns() {
+        return config.leanNetwork.allowPatterns;
+    }
+
+    public static String getDriverCacheDir() {
+        return config.driverCacheDir;
+    }
+
+    public static String getProfileDir() {
+        return config.profileDir;
+    }
+
+    public static String getIsolation() {
+        return config.isolation;
+    }
+
+    public static int getPrelaunchDepth() {
+        return config.prelaunchDepth;
+    }
+
+    public static boolean isPoolEnabled() {
+        return config.pool.enabled;
+    }
+
+    public static int getPoolSize() {
+        return config.pool.size;
+    }
+
+    public static int getPoolMaxReuse() {
+        return config.pool.maxReuse;
+    }
+
+    public static boolean isWatchdogEnabled() {
+        return config.watchdog.enabled;
+    }
+
+    public static int getWatchdogProbeIntervalSeconds() {
+        return config.watchdog.probeIntervalSeconds;
+    }
+
+    public static int getWatchdogHangTimeoutSeconds() {
+        return config.watchdog.hangTimeoutSeconds;
+    }
+
+    public static boolean isAdmissionEnabled() {
+        return config.admission.enabled;
+    }
+
+    public static int getAdmissionMaxSessions() {
+        return config.admission.maxSessions;
+    }
+
+    public static long getAdmissionReserveMb() {
+        return config.admission.reserveMb;
+    }
+
+    public static double getAdmissionMaxCpuLoad() {
+        return config.admission.maxCpuLoad;
+    }
+
+    public static long getAdmissionDefaultFootprintMb() {
+        return config.admission.defaultFootprintMb;
+    }
+
+    public static long getAdmissionMaxWaitSeconds() {
+        return config.admission.maxWaitSeconds;
+    }
+
+    public static boolean isAdaptiveWaitsEnabled() {
+        return config.adaptiveWaits.enabled;
+    }
+
+    public static String getAdaptiveWaitsStatsFile() {
+        return config.adaptiveWaits.statsFile;
+    }
+
+    public static int getAdaptiveWaitsMinSamples() {
+        return config.adaptiveWaits.minSamples;
+    }
+
+    public static long getAdaptiveWaitsMinTimeoutMillis() {
+        return config.adaptiveWaits.minTimeoutMillis;
+    }
+
+    public static double getAdaptiveWaitsTimeoutFactor() {
+        return config.adaptiveWaits.timeoutFactor;
+    }
+
+    public static boolean isRealKeystrokes() {
+        return config.realKeystrokes;
+    }
+
+    public static boolean isCommandMetricsEnabled() {
+        return config.commandMetrics;
+    }
+
+    public static boolean isFastLogin() {
+        return config.fastLogin;
+    }
+
     private static class EnvConfig {
         String browser;
         boolean headless;
@@ -57,10 +178,60 @@ public class EnvFactory {
         String username;
         String password;
         Timeouts timeouts;
+        String pageLoadStrategy = "normal";
+        boolean profileTemplate = true;
+        boolean commandMetrics = true;
+        boolean realKeystrokes;
+        boolean fastLogin = true;
+        String driverCacheDir;
+        String profileDir;
+        String isolation = "process";
+        int prelaunchDepth;
+        Pool pool = new Pool();
+        LeanNetwork leanNetwork = new LeanNetwork();
+        Watchdog watchdog = new Watchdog();
+        Admission admission = new Admission();
+        AdaptiveWaits adaptiveWaits = new AdaptiveWaits();
 
         static class Timeouts {
             int implicit;
             int pageLoad;
         }
+
+        static class Pool {
+            boolean enabled = false;
+            int size = 2;
+            int maxReuse = 20;
+        }
+
+        static class LeanNetwork {
+            boolean enabled = false;
+            List<String> blockTypes = List.of();
+            List<String> blockPatterns = List.of();
+            List<String> allowPatterns = List.of();
+        }
+
+        static class Watchdog {
+            boolean enabled = true;
+            int probeIntervalSeconds = 30;
+            int hangTimeoutSeconds = 120;
+        }
+
+        static class Admission {
+            boolean enabled = true;
+            int maxSessions = 0;
+            long reserveMb = 1024;
+            double maxCpuLoad = 0.85;
+            long defaultFootprintMb = 600;
+            long maxWaitSeconds = 600;
+        }
+
+        static class AdaptiveWaits {
+            boolean enabled = true;
+            String statsFile = ".cache/locator-stats.json";
+            int minSamples = 20;
+            long minTimeoutMillis = 3000;
+            double timeoutFactor = 3;
+        }
     }
 }
@@ -0,0 +1,59 @@
+package bots;
+
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+
+public class BulkExtractorTest {
+
+    // TESTS
+
+    @Test(groups = {"unit"})
+    public void pricesDropCurrencyAndLabelTest() {
+        assertEquals(BulkExtractor.convert("$29.99", BigDecimal.class, false), new BigDecimal("29.99"));
+        assertEquals(BulkExtractor.convert("Item total: $39.98", BigDecimal.class, false), new BigDecimal("39.98"));
+        assertEquals(BulkExtractor.convert("Tax: $3.20", double.class, false), 3.20);
+    }
+
+    @Test(groups = {"unit"})
+    public void integersParseFromTextTest() {
+        assertEquals(BulkExtractor.convert("2", int.class, false), 2);
+        assertEquals(BulkExtractor.convert("Qty 12", Integer.class, false), 12);
+        assertEquals(BulkExtractor.convert("-5", long.class, false), -5L);
+    }
+
+    @Test(groups = {"unit"})
+    public void booleanTextFieldsMeanElementPresentTest() {
+        assertEquals(BulkExtractor.convert("Remove", boolean.class, false), true);
+        assertEquals(BulkExtractor.convert(null, Boolean.class, false), false);
+    }
+
+    @Test(groups = {"unit"})
+    public void booleanAttributesAreParsedTest() {
+        // in-page reads the property ("false"), the per-element path getAttribute (null)
+        assertEquals(BulkExtractor.convert("false", boolean.class, true), false);
+        assertEquals(BulkExtractor.convert(null, boolean.class, true), false);
+        assertEquals(BulkExtractor.convert("true", Boolean.class, true), true);
+    }
+
+    @Test(groups = {"unit"})
+    public void stringsAndMissingValuesPassThroughTest() {
+        assertEquals(BulkExtractor.convert("Sauce Labs Backpack", String.class, false), "Sauce Labs Backpack");
+        assertNull(BulkExtractor.convert(null, String.class, false));
+        assertNull(BulkExtractor.convert(null, BigDecimal.class, false));
+    }
+
+    @Test(groups = {"unit"})
+    public void missingPrimitiveIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> BulkExtractor.convert(null, int.class, false));
+    }
+
+    @Test(groups = {"unit"})
+    public void unsupportedTypeIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> BulkExtractor.convert("2024-01-01", java.time.LocalDate.class, false));
+    }
+}
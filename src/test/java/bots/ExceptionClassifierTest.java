@@ -0,0 +1,68 @@
+package bots;
+
+import bots.ExceptionClassifier.Kind;
+import org.openqa.selenium.*;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ExceptionClassifierTest {
+
+    // TESTS
+
+    @Test(groups = {"unit"})
+    public void timingErrorsAreRetriedTest() {
+        assertFalse(ExceptionClassifier.isTerminal(new StaleElementReferenceException("stale")));
+        assertFalse(ExceptionClassifier.isTerminal(new NoSuchElementException("not yet")));
+        assertFalse(ExceptionClassifier.isTerminal(new ElementClickInterceptedException("overlay")));
+        assertFalse(ExceptionClassifier.isTerminal(new ElementNotInteractableException("animating")));
+        assertFalse(ExceptionClassifier.isTerminal(null));
+    }
+
+    @Test(groups = {"unit"})
+    public void lostSessionIsTerminalTest() {
+        assertEquals(ExceptionClassifier.classify(new NoSuchSessionException("gone")), Kind.SESSION);
+        assertEquals(ExceptionClassifier.classify(new UnreachableBrowserException("down")), Kind.SESSION);
+        assertEquals(ExceptionClassifier.classify(
+                new WebDriverException("request failed", new ConnectException("refused"))), Kind.SESSION);
+    }
+
+    @Test(groups = {"unit"})
+    public void badSelectorIsDeterministicTest() {
+        assertEquals(ExceptionClassifier.classify(new InvalidSelectorException("bad")), Kind.DETERMINISTIC);
+        assertEquals(ExceptionClassifier.classify(new NoSuchElementException("Cannot locate option with value: XL")),
+                Kind.DETERMINISTIC);
+    }
+
+    @Test(groups = {"unit"})
+    public void inPageSelectorErrorIsDeterministicTest() {
+        JavascriptException css = new JavascriptException(
+                "javascript error: Failed to execute 'querySelectorAll' on 'Document': '##x' is not a valid selector.");
+        JavascriptException xpath = new JavascriptException(
+                "SyntaxError: Document.evaluate: The expression is not a legal expression");
+
+        assertTrue(ExceptionClassifier.isInPageSelectorError(css));
+        assertTrue(ExceptionClassifier.isInPageSelectorError(xpath));
+        assertEquals(ExceptionClassifier.classify(css), Kind.DETERMINISTIC);
+        assertFalse(ExceptionClassifier.isInPageSelectorError(new JavascriptException("document unloaded while waiting")));
+    }
+
+    @Test(groups = {"unit"})
+    public void wrappedActionFailureKeepsItsCauseKindTest() {
+        ActionFailedException failed = new ActionFailedException("click", "#checkout",
+                new NoSuchSessionException("gone"));
+
+        assertEquals(ExceptionClassifier.classify(failed), Kind.SESSION);
+    }
+
+    @Test(groups = {"unit"})
+    public void programmingErrorsAreDeterministicTest() {
+        assertEquals(ExceptionClassifier.classify(new IllegalStateException("bug")), Kind.DETERMINISTIC);
+        assertEquals(ExceptionClassifier.classify(new UnsupportedCommandException("no")), Kind.DETERMINISTIC);
+    }
+}
@@ -0,0 +1,76 @@
+package bots;
+
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.testng.Assert.assertEquals;
+
+public class LocatorStatsTest {
+
+    private static final Duration MAX = Duration.ofSeconds(15);
+
+    // TESTS
+
+    @Test(groups = {"unit"})
+    public void percentileUsesNearestRankTest() {
+        List<Long> values = LongStream.rangeClosed(1, 100).boxed().toList();
+
+        assertEquals(LocatorStats.percentile(values, 0.5), 50);
+        assertEquals(LocatorStats.percentile(values, 0.99), 99);
+        assertEquals(LocatorStats.percentile(List.of(7L), 0.99), 7);
+    }
+
+    @Test(groups = {"unit"})
+    public void percentileIgnoresOrderTest() {
+        List<Long> values = new ArrayList<>(LongStream.rangeClosed(1, 100).boxed().toList());
+        Collections.reverse(values);
+
+        assertEquals(LocatorStats.percentile(values, 0.5), 50);
+    }
+
+    @Test(groups = {"unit"})
+    public void fullTimeoutUntilMinSamplesTest() {
+        List<Long> history = Collections.nCopies(19, 100L);
+
+        assertEquals(LocatorStats.adaptiveTimeout(history, MAX, 20, 3000, 3), MAX);
+    }
+
+    @Test(groups = {"unit"})
+    public void timeoutIsFactorTimesP99Test() {
+        List<Long> history = Collections.nCopies(50, 2000L);
+
+        assertEquals(LocatorStats.adaptiveTimeout(history, MAX, 20, 3000, 3), Duration.ofMillis(6000));
+    }
+
+    @Test(groups = {"unit"})
+    public void timeoutStaysWithinBoundsTest() {
+        assertEquals(LocatorStats.adaptiveTimeout(Collections.nCopies(50, 100L), MAX, 20, 3000, 3),
+                Duration.ofMillis(3000));
+        assertEquals(LocatorStats.adaptiveTimeout(Collections.nCopies(50, 9000L), MAX, 20, 3000, 3), MAX);
+    }
+
+    @Test(groups = {"unit"})
+    public void timedOutSamplesRaiseTheTimeoutTest() {
+        List<Long> history = new ArrayList<>(Collections.nCopies(100, 500L));
+        assertEquals(LocatorStats.adaptiveTimeout(history, MAX, 20, 3000, 3), Duration.ofMillis(3000));
+
+        // two waits gave up at the adaptive timeout: the p99 now reaches them
+        history.add(3000L);
+        history.add(3000L);
+
+        assertEquals(LocatorStats.adaptiveTimeout(history, MAX, 20, 3000, 3), Duration.ofMillis(9000));
+    }
+
+    @Test(groups = {"unit"})
+    public void firstPollIsQuarterOfMedianWithinBoundsTest() {
+        assertEquals(LocatorStats.firstPoll(List.of()), Duration.ofMillis(200));
+        assertEquals(LocatorStats.firstPoll(Collections.nCopies(10, 400L)), Duration.ofMillis(100));
+        assertEquals(LocatorStats.firstPoll(Collections.nCopies(10, 8L)), Duration.ofMillis(10));
+        assertEquals(LocatorStats.firstPoll(Collections.nCopies(10, 4000L)), Duration.ofMillis(200));
+    }
+}
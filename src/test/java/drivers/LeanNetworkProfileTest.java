@@ -0,0 +1,47 @@
+package drivers;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class LeanNetworkProfileTest {
+
+    // TESTS
+
+    @Test(groups = {"unit"})
+    public void starMatchesAnyRunOfCharactersTest() {
+        Pattern pattern = LeanNetworkProfile.globToRegex("*backtrace.io*");
+
+        assertTrue(pattern.matcher("https://submit.backtrace.io/api/post").matches());
+        assertTrue(pattern.matcher("backtrace.io").matches());
+        assertFalse(pattern.matcher("https://www.saucedemo.com/").matches());
+    }
+
+    @Test(groups = {"unit"})
+    public void allowPatternKeepsProductImagesTest() {
+        Pattern pattern = LeanNetworkProfile.globToRegex("*/static/media/*");
+
+        assertTrue(pattern.matcher("https://www.saucedemo.com/static/media/bike-light.jpg").matches());
+        assertFalse(pattern.matcher("https://www.saucedemo.com/static/js/main.js").matches());
+    }
+
+    @Test(groups = {"unit"})
+    public void regexCharactersAreLiteralTest() {
+        Pattern pattern = LeanNetworkProfile.globToRegex("*.js?v=1");
+
+        assertTrue(pattern.matcher("https://cdn.example.com/app.js?v=1").matches());
+        assertFalse(pattern.matcher("https://cdn.example.com/appXjs?v=1").matches());
+        assertFalse(pattern.matcher("https://cdn.example.com/app.jsv=1").matches());
+    }
+
+    @Test(groups = {"unit"})
+    public void withoutStarMatchesWholeUrlOnlyTest() {
+        Pattern pattern = LeanNetworkProfile.globToRegex("https://www.saucedemo.com/");
+
+        assertTrue(pattern.matcher("https://www.saucedemo.com/").matches());
+        assertFalse(pattern.matcher("https://www.saucedemo.com/inventory.html").matches());
+    }
+}
@@ -1,5 +1,6 @@
 package listeners;
 
+import bots.ExceptionClassifier;
 import drivers.WebDriverFactory;
 import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
@@ -115,6 +116,13 @@ public class TestNGListener implements ITestListener, ISuiteListener, IAnnotatio
 
         @Override
         public boolean retry(ITestResult result) {
+            // a bad selector or wrong element type fails identically on every attempt
+            if (ExceptionClassifier.classify(result.getThrowable()) == ExceptionClassifier.Kind.DETERMINISTIC
+                    && !(result.getThrowable() instanceof AssertionError)) {
+                LogManager.getLogger(RetryAnalyzer.class)
+                        .warn("⏹ Not retrying {}: deterministic failure", result.getMethod().getMethodName());
+                return false;
+            }
             if (count.get() < MAX) {
                 count.incrementAndGet();
                 LogManager.getLogger(RetryAnalyzer.class)
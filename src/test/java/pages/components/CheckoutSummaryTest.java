@@ -0,0 +1,73 @@
+package pages.components;
+
+import org.testng.annotations.Test;
+import pages.components.CheckoutSummary.LineItem;
+import pages.components.CheckoutSummary.Totals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class CheckoutSummaryTest {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+
+    private static final List<LineItem> ITEMS = List.of(
+            new LineItem("Sauce Labs Backpack", 1, new BigDecimal("29.99")),
+            new LineItem("Sauce Labs Bike Light", 1, new BigDecimal("9.99")));
+
+    // TESTS
+
+    @Test(groups = {"unit"})
+    public void sumOfItemsCountsQuantityTest() {
+        CheckoutSummary summary = summary(List.of(
+                new LineItem("Sauce Labs Onesie", 3, new BigDecimal("7.99")),
+                new LineItem("Sauce Labs Bike Light", 1, new BigDecimal("9.99"))), "33.96", "2.72", "36.68");
+
+        assertEquals(summary.sumOfItems(), new BigDecimal("33.96"));
+    }
+
+    @Test(groups = {"unit"})
+    public void totalsComeFromDisplayedSubtotalAndTaxTest() {
+        CheckoutSummary summary = summary(ITEMS, "39.98", "3.20", "43.18");
+
+        assertEquals(summary.sumOfItems().compareTo(summary.subtotal()), 0);
+        assertEquals(summary.expectedTax(TAX_RATE), new BigDecimal("3.20"));
+        assertEquals(summary.expectedTotal(), new BigDecimal("43.18"));
+    }
+
+    @Test(groups = {"unit"})
+    public void taxWithinHalfCentMatchesTest() {
+        // exact tax 3.1984 on 39.98
+        assertTrue(summary(ITEMS, "39.98", "3.20", "43.18").taxMatches(TAX_RATE));
+        // exact tax 0.8048 on 10.06, rounded down by the app
+        assertTrue(summary(List.of(), "10.06", "0.80", "10.86").taxMatches(TAX_RATE));
+    }
+
+    @Test(groups = {"unit"})
+    public void taxOffByACentDoesNotMatchTest() {
+        assertFalse(summary(ITEMS, "39.98", "3.19", "43.17").taxMatches(TAX_RATE));
+        assertFalse(summary(ITEMS, "39.98", "3.21", "43.19").taxMatches(TAX_RATE));
+    }
+
+    @Test(groups = {"unit"})
+    public void itemsAreCopiedTest() {
+        List<LineItem> items = new ArrayList<>(ITEMS);
+        CheckoutSummary summary = summary(items, "39.98", "3.20", "43.18");
+        items.clear();
+
+        assertEquals(summary.items().size(), 2);
+        assertThrows(UnsupportedOperationException.class, () -> summary.items().clear());
+    }
+
+    // HELPERS
+
+    private static CheckoutSummary summary(List<LineItem> items, String subtotal, String tax, String total) {
+        return new CheckoutSummary(items, new Totals(new BigDecimal(subtotal), new BigDecimal(tax), new BigDecimal(total)));
+    }
+}
@@ -3,6 +3,7 @@ package tests;
 import io.qameta.allure.*;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import pages.BasePage;
 import pages.LoginPage;
 import utils.JsonDataReader;
 
@@ -28,7 +29,7 @@ public class LoginTest extends TestBase {
     @Severity(SeverityLevel.NORMAL)
     @Description("Verify that login page loads successfully and all elements are visible")
     public void verifyLoginPageLoads() {
-        new LoginPage(driver);
+        BasePage.open(driver, LoginPage.class, LoginPage::new);
     }
 
     @Test(priority = 1, groups = {"smoke", "login"})
@@ -37,7 +38,7 @@ public class LoginTest extends TestBase {
     public void validLoginTest() {
         Map<String, String> creds = JsonDataReader.getValidLogin();
 
-        new LoginPage(driver)
+        BasePage.open(driver, LoginPage.class, LoginPage::new)
                 .login(creds.get("username"), creds.get("password"))
                 .isloggedin(LoginPage.INVENTORY_URL);
     }
@@ -46,7 +47,7 @@ public class LoginTest extends TestBase {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that system shows appropriate error messages for invalid login attempts")
     public void invalidLoginTest(Map<String, String> testData) {
-        new LoginPage(driver)
+        BasePage.open(driver, LoginPage.class, LoginPage::new)
                 .login(testData.get("username"), testData.get("password"))
                 .assertInvalidLoginMessage(testData.get("expectedError"));
     }
@@ -1,15 +1,28 @@
 package tests;
 
+import bots.ActionBatch;
+import bots.DriverRegistry;
+import bots.ScrollStats;
+import drivers.CommandMetrics;
 import drivers.WebDriverFactory;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.*;
+import pages.BasePage;
 import pages.LoginPage;
 import pages.ProductsPage;
 import utils.EnvFactory;
 
 public class TestBase {
 
+    private static final Logger log = LogManager.getLogger(TestBase.class);
+
+    // set once this worker thread has logged in through the form; later logins may use the session cookie
+    private static final ThreadLocal<Boolean> uiLoginVerified = ThreadLocal.withInitial(() -> false);
+
     protected WebDriver driver;
 
     @BeforeMethod(alwaysRun = true)
@@ -22,19 +35,38 @@ public class TestBase {
     @AfterMethod(alwaysRun = true)
     @Step("Teardown: Close browser and cleanup")
     public void tearDown() {
+        ScrollStats.logAndReset();
+        ActionBatch.resetTyping();
+        DriverRegistry.release(driver);
         WebDriverFactory.quitdriver();
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void attachCommandMetrics() {
+        if (!EnvFactory.isCommandMetricsEnabled()) {
+            return;
+        }
+        Allure.addAttachment("WebDriver command latency", "application/json",
+                CommandMetrics.get().toJson(), ".json");
+        CommandMetrics.get().summary(5).forEach(line -> log.info("Slowest commands - {}", line));
+    }
+
     @Step("Login as standard user")
     protected ProductsPage loginAsUser() {
-        return new LoginPage(driver)
+        if (EnvFactory.isFastLogin() && uiLoginVerified.get()) {
+            return LoginPage.loginBySession(driver, EnvFactory.getUsername());
+        }
+        // the first login on each worker goes through the form, as a canary for the real flow
+        ProductsPage products = BasePage.open(driver, LoginPage.class, LoginPage::new)
                 .login(EnvFactory.getUsername(), EnvFactory.getPassword())
                 .isloggedin(LoginPage.INVENTORY_URL);
+        uiLoginVerified.set(true);
+        return products;
     }
 
     @Step("Login with custom credentials: {username}")
     protected LoginPage loginWith(String username, String password) {
-        return new LoginPage(driver)
+        return BasePage.open(driver, LoginPage.class, LoginPage::new)
                 .login(username, password);
     }
 }